@@ -0,0 +1,55 @@
+package com.test.my.benchmarks;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per call cost of configuration lookups and of {@link CustomLogger#getLogger}, which tests and page
+ * objects call on hot paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    @Benchmark
+    public String loadPropPresent() {
+        return PropertiesManager.loadProp("BASE_URL");
+    }
+
+    @Benchmark
+    public String loadPropDefault() {
+        return PropertiesManager.loadProp("BENCHMARK_MISSING_KEY", "default");
+    }
+
+    @Benchmark
+    public Duration getDuration() {
+        return PropertiesManager.getDuration("BENCHMARK_MISSING_KEY", Duration.ofSeconds(30));
+    }
+
+    @Benchmark
+    public String getEnv() {
+        return PropertiesManager.getEnv();
+    }
+
+    @Benchmark
+    public Logger customLogger() {
+        return CustomLogger.getLogger(ConfigBenchmark.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.test.my.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.test.my.utils.StreamingJson;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.test.my.utils.StreamingJsonMatcher.jsonPaths;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+
+/**
+ * Parsing and asserting canned responses: the token response as generate_token parses it, and the users
+ * page assertions of TestGetSampleApi through GPath against the streaming matcher, plain Gson and org.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParsingBenchmark {
+
+    private static final String TOKEN_RESPONSE = "{\"access_token\":\"eyJhbGciOiJSUzI1NiIsInR5cCIgOiAiSldUIn0."
+            + "eyJleHAiOjE2NTAwMDAwMDAsImlhdCI6MTY0OTk5OTcwMCwianRpIjoiMTIzIn0.c2lnbmF0dXJl\","
+            + "\"expires_in\":300,\"refresh_expires_in\":0,\"token_type\":\"Bearer\",\"not-before-policy\":0,"
+            + "\"scope\":\"openid profile email\"}";
+    private static final String USERS_RESPONSE = "{\"page\":2,\"per_page\":6,\"total\":12,\"total_pages\":2,"
+            + "\"data\":["
+            + user(7, "Michael", "Lawson") + "," + user(8, "Lindsay", "Ferguson") + ","
+            + user(9, "Tobias", "Funke") + "," + user(10, "Byron", "Fields") + ","
+            + user(11, "George", "Edwards") + "," + user(12, "Rachel", "Howell") + "],"
+            + "\"support\":{\"url\":\"https://reqres.in/#support-heading\","
+            + "\"text\":\"To keep ReqRes free, contributions towards server costs are appreciated!\"}}";
+
+    private final Response usersResponse = new ResponseBuilder().setStatusCode(200)
+            .setStatusLine("HTTP/1.1 200 OK").setContentType(ContentType.JSON).setBody(USERS_RESPONSE).build();
+
+    private static String user(int id, String firstName, String lastName) {
+        return "{\"id\":" + id + ",\"email\":\"" + firstName.toLowerCase() + "." + lastName.toLowerCase()
+                + "@reqres.in\",\"first_name\":\"" + firstName + "\",\"last_name\":\"" + lastName
+                + "\",\"avatar\":\"https://reqres.in/img/faces/" + id + "-image.jpg\"}";
+    }
+
+    @Benchmark
+    public long tokenOrgJson() throws JSONException {
+        JSONObject token = new JSONObject(TOKEN_RESPONSE);
+        return token.getString("access_token").length() + token.optLong("expires_in");
+    }
+
+    @Benchmark
+    public long tokenGson() {
+        JsonObject token = JsonParser.parseString(TOKEN_RESPONSE).getAsJsonObject();
+        return token.get("access_token").getAsString().length() + token.get("expires_in").getAsLong();
+    }
+
+    @Benchmark
+    public long tokenJsonPath() {
+        JsonPath token = JsonPath.from(TOKEN_RESPONSE);
+        return token.getString("access_token").length() + token.getLong("expires_in");
+    }
+
+    @Benchmark
+    public long tokenStreaming() {
+        Map<String, Object> token = StreamingJson.read(TOKEN_RESPONSE, "access_token", "expires_in");
+        return ((String) token.get("access_token")).length() + ((Number) token.get("expires_in")).longValue();
+    }
+
+    /**
+     * The assertions as TestGetSampleApi used to write them, Hamcrest matchers evaluated on GPath expressions.
+     */
+    @Benchmark
+    public Object assertGPathMatchers() {
+        return usersResponse.then()
+                .statusCode(200)
+                .body("data.id[1]", equalTo(8))
+                .body("data.first_name", hasItems("Tobias", "Michael"));
+    }
+
+    @Benchmark
+    public Object assertStreamingMatcher() {
+        return usersResponse.then()
+                .statusCode(200)
+                .body(jsonPaths()
+                        .path("data.id[1]", equalTo(8))
+                        .path("data.first_name", hasItems("Tobias", "Michael")));
+    }
+
+    @Benchmark
+    public boolean assertJsonPath() {
+        JsonPath json = usersResponse.jsonPath();
+        List<String> firstNames = json.getList("data.first_name");
+        return json.getInt("data.id[1]") == 8 && firstNames.contains("Tobias") && firstNames.contains("Michael");
+    }
+
+    @Benchmark
+    public boolean assertGson() {
+        JsonArray data = JsonParser.parseString(usersResponse.asString()).getAsJsonObject().getAsJsonArray("data");
+        List<String> firstNames = new ArrayList<>();
+        for (JsonElement user : data) {
+            firstNames.add(user.getAsJsonObject().get("first_name").getAsString());
+        }
+        return data.get(1).getAsJsonObject().get("id").getAsInt() == 8 && firstNames.contains("Tobias")
+                && firstNames.contains("Michael");
+    }
+
+    @Benchmark
+    public boolean assertOrgJson() throws JSONException {
+        org.json.JSONArray data = new JSONObject(usersResponse.asString()).getJSONArray("data");
+        boolean tobias = false;
+        boolean michael = false;
+        for (int i = 0; i < data.length(); i++) {
+            String firstName = data.getJSONObject(i).getString("first_name");
+            tobias |= firstName.equals("Tobias");
+            michael |= firstName.equals("Michael");
+        }
+        return data.getJSONObject(1).getInt("id") == 8 && tobias && michael;
+    }
+}
@@ -0,0 +1,52 @@
+package com.test.my.benchmarks;
+
+import com.test.my.e2e.pages.BasePage;
+import com.test.my.e2e.pages.LocatorType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a locator string into a {@link By}: the shared cache of {@link BasePage#getLocator}
+ * against building the locator every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final String CSS = "div.logo.logo";
+    private static final String XPATH = "//li[5]/a";
+
+    @Benchmark
+    public By cachedCss() {
+        return BasePage.getLocator(CSS, LocatorType.CSS);
+    }
+
+    @Benchmark
+    public By cachedXpath() {
+        return BasePage.getLocator(XPATH, LocatorType.XPATH);
+    }
+
+    @Benchmark
+    public By uncachedCss() {
+        return By.cssSelector(CSS);
+    }
+
+    @Benchmark
+    public By uncachedXpath() {
+        return By.xpath(XPATH);
+    }
+}
@@ -0,0 +1,83 @@
+package com.test.my.benchmarks;
+
+import com.test.my.standin.LatencyModel;
+import com.test.my.standin.StandInServer;
+import com.test.my.utils.HttpConnectionPool;
+import com.test.my.utils.RestAssuredRequestFilter;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework overhead per request: formatting an exchange for the log, and full GET requests against the
+ * in-process stand-in server without latency, bare and through the request filter in errors only mode
+ * (the logging mode of high-volume runs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBenchmark {
+
+    private static final String REQUEST_BODY = "{\"name\":\"morpheus\",\"job\":\"leader\"}";
+    private static final String RESPONSE_BODY = "{\"data\":{\"id\":2,\"email\":\"janet.weaver@reqres.in\","
+            + "\"first_name\":\"Janet\",\"last_name\":\"Weaver\","
+            + "\"avatar\":\"https://reqres.in/img/faces/2-image.jpg\"}}";
+
+    private StandInServer server;
+    private String userUrl;
+    private RequestSpecification bare;
+    private RequestSpecification filtered;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        HttpConnectionPool.install();
+        server = new StandInServer(0, LatencyModel.fixed(0), Collections.emptyMap(), 4);
+        server.start();
+        userUrl = server.getBaseUrl() + "users/2";
+        bare = new RequestSpecBuilder().build();
+        filtered = new RequestSpecBuilder().addFilter(new RestAssuredRequestFilter().errorsOnly()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String describeExchange() {
+        return RestAssuredRequestFilter.describe("POST", userUrl, "Accept=*/*\nContent-Type=application/json",
+                REQUEST_BODY, 200, "HTTP/1.1 200 OK", RESPONSE_BODY);
+    }
+
+    @Benchmark
+    public int getBare() {
+        Response response = RestAssured.given().spec(bare).get(userUrl);
+        return response.getStatusCode();
+    }
+
+    @Benchmark
+    public int getFiltered() {
+        Response response = RestAssured.given().spec(filtered).get(userUrl);
+        return response.getStatusCode();
+    }
+}
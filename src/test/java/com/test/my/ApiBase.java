@@ -1,46 +1,162 @@
 package com.test.my;
 
+import com.test.my.utils.AsyncRequestExecutor;
+import com.test.my.utils.CountingAsyncQueueFullPolicy;
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.HttpConnectionPool;
 import com.test.my.utils.RestAssuredRequestFilter;
+import com.test.my.utils.StreamingJson;
 import com.test.my.utils.PropertiesManager;
+import com.test.my.utils.TokenCache;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.json.JSONException;
-import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import static com.test.my.utils.PropertiesManager.loadProp;
 
 public class ApiBase {
 
-    protected static RequestSpecification requestSpecification;
+    private static final RequestSpecification BASE_SPECIFICATION = new RequestSpecBuilder()
+            .addFilter(new RestAssuredRequestFilter())
+            .build();
+    private static final ThreadLocal<RequestSpecification> REQUEST_SPECIFICATION = new ThreadLocal<>();
     static final String BASE_URL = PropertiesManager.loadProp("BASE_URL");
+    private static final String CLIENT_ID = "attain-kc-demo";
+    private static final String REALM = "attain-poc";
+    private static final String SCOPE = "openid";
+    private static final Logger logger = CustomLogger.getLogger(ApiBase.class);
+
+    static {
+        HttpConnectionPool.install();
+    }
 
     @BeforeMethod
     public void beforeTestSetup(Method getMethod) {
-        requestSpecification = RestAssured.given().filter(new RestAssuredRequestFilter());
+        REQUEST_SPECIFICATION.set(RestAssured.given().spec(BASE_SPECIFICATION));
+
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterTestCleanup() {
+        REQUEST_SPECIFICATION.remove();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void afterSuiteReport() {
+        logger.info(HttpConnectionPool.describe());
+        logger.info(CountingAsyncQueueFullPolicy.describe());
+    }
 
+    /**
+     * Request specification of the test running on the current thread, cloned from the shared base spec.
+     *
+     * @return request specification confined to the current thread
+     */
+    protected static RequestSpecification requestSpecification() {
+        RequestSpecification specification = REQUEST_SPECIFICATION.get();
+        if (specification == null) {
+            specification = RestAssured.given().spec(BASE_SPECIFICATION);
+            REQUEST_SPECIFICATION.set(specification);
+        }
+        return specification;
+    }
+
+    /**
+     * Send a request asynchronously on a specification cloned from the shared base spec.
+     * The body is read on the worker before the future completes, so the connection is back in the
+     * pool when the response is handed over.
+     *
+     * @param request builds and sends the request, e.g. {@code spec -> spec.get(apiUrl("users/2"))}
+     * @return future of the response
+     */
+    protected static CompletableFuture<Response> submitAsync(Function<RequestSpecification, Response> request) {
+        return AsyncRequestExecutor.submit(() -> {
+            Response response = request.apply(RestAssured.given().spec(BASE_SPECIFICATION));
+            response.asByteArray();
+            return response;
+        });
+    }
+
+    /**
+     * Send all requests concurrently and wait for every response.
+     *
+     * @param requests requests to send
+     * @return responses in the order of the requests
+     */
+    protected static List<Response> sendAll(List<Function<RequestSpecification, Response>> requests) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(requests.size());
+        for (Function<RequestSpecification, Response> request : requests) {
+            futures.add(submitAsync(request));
+        }
+        return AsyncRequestExecutor.awaitAll(futures);
+    }
+
+    /**
+     * Resolve a path against BASE_URL, read on every call so that a stand-in server started by a
+     * suite listener is honoured.
+     *
+     * @param path path relative to BASE_URL, e.g. users/2
+     * @return absolute url
+     */
+    protected static String apiUrl(String path) {
+        String baseUrl = PropertiesManager.loadProp("BASE_URL");
+        if (baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+        return path.startsWith("/") ? baseUrl + path : baseUrl + "/" + path;
     }
 
     public String generate_token()throws JSONException {
+        try {
+            return "Bearer " + TokenCache.getInstance().getToken(CLIENT_ID, REALM, SCOPE, this::requestToken);
+        } catch (TokenCache.TokenFetchException e) {
+            if (e.getCause() instanceof JSONException) {
+                throw (JSONException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private TokenCache.Token requestToken() throws JSONException {
         String token_ENDPOINT = BASE_URL + "/attain-auth-broker/v1/token";
         Response response = RestAssured
                 .given()
                 .contentType("application/x-www-form-urlencoded; charset=utf-8")
-                .formParam("client_id", "attain-kc-demo")
+                .formParam("client_id", CLIENT_ID)
                 .formParam("client_secret", "DNB2lbWvUy5ajGYIoFg2K2uhyICWgfAM")
                 .formParam("grant_type", "client_credentials")
-                .formParam("realm", "attain-poc")
+                .formParam("realm", REALM)
                 .formParam("protocol", "openid-connect")
-                .formParam("scope", "openid")
+                .formParam("scope", SCOPE)
                 .header("x-clientrefid", "0e40dcda-a6f6-11ec-b909-0242ac120002")
                 .when()
                 .post(token_ENDPOINT);
 
-        JSONObject jobj=new JSONObject(response.asString());
-        return "Bearer "+jobj.getString("access_token");
+        Map<String, Object> token;
+        try {
+            token = StreamingJson.read(response.asString(), "access_token", "expires_in");
+        } catch (IllegalArgumentException e) {
+            throw new JSONException(e.getMessage());
+        }
+        if (!(token.get("access_token") instanceof String)) {
+            throw new JSONException("No access_token in token response: " + response.getStatusLine());
+        }
+        Object expiresIn = token.get("expires_in");
+        return TokenCache.Token.of((String) token.get("access_token"),
+                expiresIn instanceof Number ? ((Number) expiresIn).longValue() : 0);
 
     }
 
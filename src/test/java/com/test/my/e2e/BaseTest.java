@@ -1,7 +1,11 @@
 package com.test.my.e2e;
 
 import com.test.my.e2e.driver.DefaultCapabilities;
-import com.test.my.e2e.driver.LocalDriverManager;
+import com.test.my.e2e.driver.LaunchProfile;
+import com.test.my.e2e.driver.WebDriverPool;
+import com.test.my.e2e.timing.ActionMetrics;
+import com.test.my.e2e.timing.PageTimings;
+import com.test.my.e2e.wait.WaitTelemetry;
 import com.test.my.utils.CustomLogger;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
@@ -15,10 +19,9 @@ import static com.test.my.utils.PropertiesManager.loadProp;
 
 public class BaseTest {
 
-    protected WebDriver driver;
     public static final String DEFAULT_PASSWORD = "default";
-    private LocalDriverManager localDriverManager;
-    private String testMethodName;
+    // each worker thread owns the driver of the test method it runs, so classes and methods can run in parallel
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
     private String testPlatform = "LOCAL";
     private DefaultCapabilities capabilities;
     private static final Logger logger = CustomLogger.getLogger(BaseTest.class);
@@ -35,40 +38,37 @@ public class BaseTest {
 
 
     /**
-     * Get web driver.
+     * Lease a web driver from the session pool for the current thread.
      *
-     * @param browser           browser to be tested
-     * @param version           browser version
-     * @param platform          platform e.g. Windows, Mac
-     * @param osVersion         platform version
-     * @param location          location for the app installer
-     * @param resolution        resolution
-     * @param incognito         if true sets the browser to launch in incognito mode
-     * @param headless          if true runs in headless mode
+     * @param testMethodName    test method name
      * @return a web driver
      */
-    private WebDriver getDriver(String browser, String version, String platform, String osVersion,
-                                String location, String resolution, boolean incognito, boolean headless) {
+    private WebDriver leaseDriver(String testMethodName) {
+        WebDriver driver = null;
         try {
-            capabilities = new DefaultCapabilities(browser, version, platform, osVersion,
-                    location, resolution, incognito, headless);
-
-            localDriverManager = new LocalDriverManager();
-            driver = localDriverManager.getDriver(testMethodName, capabilities);
-
+            driver = WebDriverPool.getInstance().lease(testMethodName, capabilities);
         } catch (Exception ex) {
             logger.error("Exception: Could not create web driver!", ex);
         }
         return driver;
     }
 
+    /**
+     * Get the web driver of the test method running on the current thread.
+     *
+     * @return web driver
+     */
+    protected WebDriver getDriver() {
+        return DRIVER.get();
+    }
+
     public DefaultCapabilities getCapabilities() {
         return capabilities;
     }
 
 
     /**
-     * Set up configuration and driver before class.
+     * Set up configuration before class. Drivers are leased per test method.
      *
      * @param browser           browser to be run e.g. chrome or firefox
      * @param version           browser version
@@ -79,37 +79,41 @@ public class BaseTest {
      * @param resolution        resolution of the device (default 1280x1024 - do NOT change, adjust in test config)
      * @param incognito         if true launches the browser in incognito mode
      * @param headless          if true runs in headless mode.
+     * @param launchProfile     standard or fast, see {@link LaunchProfile}; defaults to the LAUNCH_PROFILE property
      */
     @BeforeClass(alwaysRun = true)
     @Parameters(value = {"browser", "version", "platform", "osVersion",
-            "testPlatform", "location", "resolution", "incognito", "headless"})
+            "testPlatform", "location", "resolution", "incognito", "headless", "launchProfile"})
     public void setup(@Optional("Chrome") String browser, @Optional("latest") String version,
                       @Optional("Windows") String platform, @Optional("10") String osVersion,
                       @Optional("local") String testPlatform, @Optional("") String location,
                       @Optional("1280x1024") String resolution, @Optional("false") boolean incognito,
-                      @Optional("false") boolean headless
+                      @Optional("false") boolean headless, @Optional("") String launchProfile
                       ) {
 
         this.testPlatform = (testPlatform == null || testPlatform.isEmpty()) ? loadProp("testPlatform").toUpperCase() :
                 testPlatform.toUpperCase();
         logger.info("testPlatform: " + this.testPlatform);
-        driver = getDriver(browser, version, platform, osVersion,
-                  location, resolution, incognito,  headless);
+        capabilities = new DefaultCapabilities(browser, version, platform, osVersion,
+                location, resolution, incognito, headless, LaunchProfile.parse(launchProfile.isEmpty()
+                ? loadProp("LAUNCH_PROFILE", "standard") : launchProfile));
     }
 
     /**
-     * Before Method used to set up the existing Test Name from the Method Name.
+     * Before Method used to set up the existing Test Name from the Method Name and lease its driver.
      *
      * @param getMethod current test method name
      */
-    @BeforeMethod
+    @BeforeMethod(alwaysRun = true)
     public void beforeTestSetup(Method getMethod) {
-        testMethodName = getMethod.getName();
+        String testMethodName = getMethod.getName();
         logger.info("About to run: " + testMethodName);
+        ActionMetrics.startTest();
+        DRIVER.set(leaseDriver(testMethodName));
     }
 
     /**
-     * cleanup after each test method.
+     * cleanup after each test method, returning its driver to the pool.
      *
      * @param result test result
      */
@@ -118,10 +122,17 @@ public class BaseTest {
         if (result.isSuccess()) {
             logger.info("Test Result: " + result.isSuccess());
         }
+        try {
+            quitDriver();
+        } catch (Exception e) {
+            logger.error("Error with quitting WebDriver.... Handling gracefully.", e);
+        }
+        ActionMetrics.finishTest(result.getTestClass().getRealClass().getSimpleName() + "."
+                + result.getMethod().getMethodName());
     }
 
     /**
-     * clean up after class.
+     * clean up after class, in case a driver was left on this thread.
      */
     @AfterClass(alwaysRun = true)
     public void tearDown() {
@@ -132,10 +143,25 @@ public class BaseTest {
         }
     }
 
+    /**
+     * Log the waits that cost the most time in the suite and how long each page took to load, and write the
+     * action breakdown, to find pages worth tuning.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void afterSuiteReport() {
+        logger.info(WaitTelemetry.describe(20));
+        logger.info(PageTimings.describe());
+        if (ActionMetrics.writeSuite() != null) {
+            logger.info(ActionMetrics.describe(20));
+        }
+    }
+
     private void quitDriver() {
+        WebDriver driver = DRIVER.get();
         if (driver != null) {
-            logger.info("Quitting web driver!");
-            driver.quit();
+            DRIVER.remove();
+            logger.info("Returning web driver to the pool");
+            WebDriverPool.getInstance().release(driver);
         }
     }
 }
@@ -18,7 +18,7 @@ public class LoginTest extends BaseTest {
     @Test(description = "Verify a User can login and click on continue to the home page.")
     public void testLogin() {
         logger.info("Login for: test user");
-        LoginPage loginPage = new LoginPage(driver, loadProp("BASE_URL"));
+        LoginPage loginPage = new LoginPage(getDriver(), loadProp("BASE_URL"));
         HomePage homePage = loginPage.login(loadProp("USER_ID"), DEFAULT_PASSWORD);
         assertTrue(homePage.doesElementExist("div.logo.logo", LocatorType.CSS), "Welcome is displayed");
     }
@@ -1,5 +1,7 @@
 package com.test.my.e2e.driver;
 
+import java.util.Objects;
+
 public class DefaultCapabilities {
 
     private String browser;
@@ -13,6 +15,7 @@ public class DefaultCapabilities {
     private String resolution;
     private boolean incognito;
     private boolean headless;
+    private LaunchProfile launchProfile = LaunchProfile.STANDARD;
 
     public DefaultCapabilities(String browser, String browserVersion, String platformName, String platformVersion) {
         this.browser = browser;
@@ -53,6 +56,26 @@ public class DefaultCapabilities {
         this.headless = headless;
     }
 
+    /**
+     * DefaultCapabilities constructor.
+     *
+     * @param browser          browser
+     * @param browserVersion   browser version
+     * @param platformName     platform name
+     * @param platformVersion  platform version
+     * @param location         location of the device
+     * @param resolution       resolution of the device
+     * @param incognito        if true run in incognito mode
+     * @param headless         if true run in headless mode
+     * @param launchProfile    how the local browser is launched
+     */
+    public DefaultCapabilities(String browser, String browserVersion, String platformName, String platformVersion,
+                               String location, String resolution, boolean incognito, boolean headless,
+                               LaunchProfile launchProfile) {
+        this(browser, browserVersion, platformName, platformVersion, location, resolution, incognito, headless);
+        this.launchProfile = launchProfile;
+    }
+
     /**
      * DefaultCapabilities constructor.
      *
@@ -81,6 +104,30 @@ public class DefaultCapabilities {
         this.headless = headless;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DefaultCapabilities that = (DefaultCapabilities) o;
+        return incognito == that.incognito && headless == that.headless && launchProfile == that.launchProfile
+                && Objects.equals(browser, that.browser) && Objects.equals(browserVersion, that.browserVersion)
+                && Objects.equals(platformName, that.platformName)
+                && Objects.equals(platformVersion, that.platformVersion)
+                && Objects.equals(deviceName, that.deviceName) && Objects.equals(manufacturer, that.manufacturer)
+                && Objects.equals(model, that.model) && Objects.equals(location, that.location)
+                && Objects.equals(resolution, that.resolution);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(browser, browserVersion, platformName, platformVersion, deviceName, manufacturer,
+                model, location, resolution, incognito, headless, launchProfile);
+    }
+
     @Override
     public String toString() {
         return "DefaultCapabilities{" +
@@ -95,6 +142,7 @@ public class DefaultCapabilities {
                 ", resolution='" + resolution + '\'' +
                 ", incognito=" + incognito +
                 ", headless=" + headless +
+                ", launchProfile=" + launchProfile +
                 '}';
     }
 
@@ -141,4 +189,8 @@ public class DefaultCapabilities {
     public boolean isHeadless() {
         return headless;
     }
+
+    public LaunchProfile getLaunchProfile() {
+        return launchProfile;
+    }
 }
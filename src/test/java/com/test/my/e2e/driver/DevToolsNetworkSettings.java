@@ -0,0 +1,130 @@
+package com.test.my.e2e.driver;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Network settings applied to Chrome sessions through the DevTools protocol.
+ * Configuration:
+ * <ul>
+ *     <li>CDP_BLOCKED_URLS - comma separated url patterns ({@code *} wildcards) never loaded, defaults to
+ *     analytics, ad and web font urls; {@code none} blocks nothing</li>
+ *     <li>CDP_BLOCK_IMAGES - also block png, jpg, gif and webp images, defaults to false</li>
+ *     <li>CDP_CACHE_DISABLED - bypass the browser cache, defaults to false</li>
+ *     <li>CDP_NETWORK_PROFILE - throttling: none (default), offline, slow-3g, fast-3g, 4g or
+ *     {@code custom:latencyMs,downloadKbps,uploadKbps}</li>
+ * </ul>
+ * Settings apply to the current tab; pooled sessions re-apply them to the fresh tab of every reset.
+ */
+final class DevToolsNetworkSettings {
+
+    private static final Logger logger = CustomLogger.getLogger(DevToolsNetworkSettings.class);
+    static final String DEFAULT_BLOCKED_URLS = "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,"
+            + "*facebook.net*,*hotjar.com*,*fonts.googleapis.com*,*fonts.gstatic.com*,*.woff,*.woff2,*.ttf";
+    private static final List<String> IMAGE_URLS = Arrays.asList("*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp");
+    private static final Map<String, Map<String, Object>> PROFILES = new HashMap<>();
+
+    static {
+        PROFILES.put("offline", conditions(true, 0, -1, -1));
+        PROFILES.put("slow-3g", conditions(false, 400, 400, 400));
+        PROFILES.put("fast-3g", conditions(false, 150, 1600, 750));
+        PROFILES.put("4g", conditions(false, 20, 9000, 9000));
+    }
+
+    private static final DevToolsNetworkSettings CONFIGURED = new DevToolsNetworkSettings(
+            PropertiesManager.loadProp("CDP_BLOCKED_URLS", DEFAULT_BLOCKED_URLS),
+            PropertiesManager.getBoolean("CDP_BLOCK_IMAGES", false),
+            PropertiesManager.getBoolean("CDP_CACHE_DISABLED", false),
+            PropertiesManager.loadProp("CDP_NETWORK_PROFILE", "none"));
+
+    private final List<String> blockedUrls;
+    private final boolean cacheDisabled;
+    private final Map<String, Object> networkConditions;
+    private final String profileName;
+
+    private DevToolsNetworkSettings(String blockedUrls, boolean blockImages, boolean cacheDisabled,
+                                    String profile) {
+        List<String> patterns = new ArrayList<>();
+        if (!"none".equalsIgnoreCase(blockedUrls.trim())) {
+            patterns.addAll(Arrays.stream(blockedUrls.split(","))
+                    .map(String::trim).filter(pattern -> !pattern.isEmpty()).collect(Collectors.toList()));
+        }
+        if (blockImages) {
+            patterns.addAll(IMAGE_URLS);
+        }
+        this.blockedUrls = Collections.unmodifiableList(patterns);
+        this.cacheDisabled = cacheDisabled;
+        this.profileName = profile.trim().toLowerCase(Locale.ROOT);
+        this.networkConditions = parseProfile(profileName);
+    }
+
+    static DevToolsNetworkSettings configured() {
+        return CONFIGURED;
+    }
+
+    /**
+     * Apply the settings to a Chrome session.
+     *
+     * @param driver chrome driver
+     */
+    void applyTo(ChromiumDriver driver) {
+        if (blockedUrls.isEmpty() && !cacheDisabled && networkConditions == null) {
+            return;
+        }
+        driver.executeCdpCommand("Network.enable", Collections.emptyMap());
+        if (!blockedUrls.isEmpty()) {
+            driver.executeCdpCommand("Network.setBlockedURLs", Collections.singletonMap("urls", blockedUrls));
+        }
+        if (cacheDisabled) {
+            driver.executeCdpCommand("Network.setCacheDisabled", Collections.singletonMap("cacheDisabled", true));
+        }
+        if (networkConditions != null) {
+            driver.executeCdpCommand("Network.emulateNetworkConditions", networkConditions);
+        }
+        logger.debug("Applied DevTools network settings: blocked=" + blockedUrls + ", cacheDisabled="
+                + cacheDisabled + ", profile=" + profileName);
+    }
+
+    private static Map<String, Object> parseProfile(String profile) {
+        if (profile.isEmpty() || profile.equals("none")) {
+            return null;
+        }
+        if (profile.startsWith("custom:")) {
+            String[] values = profile.substring("custom:".length()).split(",");
+            if (values.length != 3) {
+                throw new IllegalArgumentException("CDP_NETWORK_PROFILE custom needs latencyMs,downloadKbps,"
+                        + "uploadKbps: " + profile);
+            }
+            return conditions(false, Long.parseLong(values[0].trim()), Long.parseLong(values[1].trim()),
+                    Long.parseLong(values[2].trim()));
+        }
+        Map<String, Object> conditions = PROFILES.get(profile);
+        if (conditions == null) {
+            throw new IllegalArgumentException("Unknown CDP_NETWORK_PROFILE " + profile + ", expected one of "
+                    + PROFILES.keySet() + ", none or custom:latencyMs,downloadKbps,uploadKbps");
+        }
+        return conditions;
+    }
+
+    private static Map<String, Object> conditions(boolean offline, long latencyMs, long downloadKbps,
+                                                  long uploadKbps) {
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", offline);
+        conditions.put("latency", latencyMs);
+        // DevTools expects bytes per second, -1 disables throttling
+        conditions.put("downloadThroughput", downloadKbps < 0 ? -1 : downloadKbps * 1000 / 8);
+        conditions.put("uploadThroughput", uploadKbps < 0 ? -1 : uploadKbps * 1000 / 8);
+        return Collections.unmodifiableMap(conditions);
+    }
+}
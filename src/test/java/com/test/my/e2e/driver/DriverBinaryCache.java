@@ -0,0 +1,97 @@
+package com.test.my.e2e.driver;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Local cache of resolved driver binary paths, so that WebDriverManager version resolution, which may go
+ * over the network, runs at most once per WEBDRIVER_PATH_CACHE_TTL (defaults to 24h). A cached binary is
+ * still used when re-resolution fails, e.g. offline.
+ * The cache file is WEBDRIVER_PATH_CACHE, defaulting to ~/.cache/selenium/driver-paths.properties.
+ */
+final class DriverBinaryCache {
+
+    private static final Logger logger = CustomLogger.getLogger(DriverBinaryCache.class);
+    private static final Path CACHE_FILE = Paths.get(PropertiesManager.loadProp("WEBDRIVER_PATH_CACHE",
+            Paths.get(System.getProperty("user.home"), ".cache", "selenium", "driver-paths.properties")
+                    .toString()));
+    private static final Duration TTL = PropertiesManager.getDuration("WEBDRIVER_PATH_CACHE_TTL",
+            Duration.ofHours(24));
+
+    private DriverBinaryCache() {
+        // keep this empty
+    }
+
+    /**
+     * Path of the chromedriver binary, resolving it with WebDriverManager only on a cache miss or expiry.
+     *
+     * @param version pinned driver version, or null for the version matching the installed browser
+     * @return absolute path of the driver binary
+     */
+    static synchronized String chromedriver(String version) {
+        String key = version == null ? "chromedriver" : "chromedriver-" + version;
+        Properties cache = load();
+        String cachedPath = cache.getProperty(key);
+        boolean usable = cachedPath != null && Files.isExecutable(Paths.get(cachedPath));
+        long resolvedAt = Long.parseLong(cache.getProperty(key + ".resolvedAt", "0"));
+        // pinned versions never change, unpinned ones follow browser updates
+        if (usable && (version != null || System.currentTimeMillis() - resolvedAt < TTL.toMillis())) {
+            return cachedPath;
+        }
+        try {
+            WebDriverManager manager = WebDriverManager.chromedriver();
+            if (version != null) {
+                manager.driverVersion(version);
+            }
+            manager.setup();
+            String path = manager.getDownloadedDriverPath();
+            cache.setProperty(key, path);
+            cache.setProperty(key + ".resolvedAt", Long.toString(System.currentTimeMillis()));
+            store(cache);
+            return path;
+        } catch (RuntimeException e) {
+            if (usable) {
+                logger.warn("Could not resolve " + key + ", using cached " + cachedPath, e);
+                return cachedPath;
+            }
+            throw e;
+        }
+    }
+
+    private static Properties load() {
+        Properties cache = new Properties();
+        if (Files.isReadable(CACHE_FILE)) {
+            try (InputStream input = Files.newInputStream(CACHE_FILE)) {
+                cache.load(input);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver path cache " + CACHE_FILE, e);
+            }
+        }
+        return cache;
+    }
+
+    private static void store(Properties cache) {
+        try {
+            Files.createDirectories(CACHE_FILE.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(CACHE_FILE.toAbsolutePath().getParent(), "driver-paths", ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                cache.store(output, "Resolved driver binaries");
+            }
+            Files.move(temp, CACHE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write driver path cache " + CACHE_FILE, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.test.my.e2e.driver;
+
+import java.util.Locale;
+
+/**
+ * How a local browser is launched.
+ * <ul>
+ *     <li>STANDARD - maximized window, legacy headless mode and the normal page load strategy</li>
+ *     <li>FAST - new headless mode, a fixed viewport from the resolution, the BROWSER_PAGE_LOAD_STRATEGY
+ *     page load strategy (eager by default, or none), no extensions, background networking, sync or
+ *     first run work, and the profile on a memory backed file system when there is one</li>
+ * </ul>
+ */
+public enum LaunchProfile {
+    STANDARD,
+    FAST;
+
+    /**
+     * @param name profile name, case insensitive; null or empty for the standard profile
+     * @return launch profile
+     */
+    public static LaunchProfile parse(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return STANDARD;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown launch profile " + name + ", expected standard or fast", e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.test.my.e2e.driver;
 
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.test.my.utils.PropertiesManager;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.Proxy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -16,41 +18,35 @@ import org.openqa.selenium.safari.SafariDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 
 public class LocalDriverManager {
 
     private static final Logger logger = LoggerFactory.getLogger(LocalDriverManager.class);
-    private static final String CHROME_DRIVER_VERSION = "90.0.4430.24";
+    // start up and background work a test browser never needs
+    private static final List<String> FAST_CHROME_ARGUMENTS = Arrays.asList("--disable-extensions",
+            "--disable-background-networking", "--disable-sync", "--disable-default-apps",
+            "--disable-component-update", "--no-first-run", "--no-default-browser-check", "--mute-audio");
+    private static final Path MEMORY_FILE_SYSTEM = Paths.get("/dev/shm");
 
     private ChromeDriverService chService;
     private WebDriver driver;
+    private Path userDataDir;
 
 
     private void startService() {
         if (null == chService) {
-            String testPlatform = System.getProperty("testPlatform");
-            try {
-                if (testPlatform != null && testPlatform.equalsIgnoreCase("docker")) {
-                    WebDriverManager.chromedriver().driverVersion(CHROME_DRIVER_VERSION).setup();
-                    chService = new ChromeDriverService.Builder()
-                            .usingDriverExecutable(
-                                    new File(WebDriverManager.chromedriver().driverVersion(CHROME_DRIVER_VERSION)
-                                            .getDownloadedDriverPath()))
-                            .usingAnyFreePort().build();
-                    chService.start();
-                } else {
-                    WebDriverManager.chromedriver().setup();
-                    chService = new ChromeDriverService.Builder().
-                            usingDriverExecutable(new File(WebDriverManager.chromedriver().getDownloadedDriverPath())).
-                            usingAnyFreePort().
-                            build();
-                    chService.start();
-                }
-            } catch (Exception e) {
-                logger.error("Fail to start chrome", e);
-            }
+            chService = SharedChromeDriverService.acquire();
         }
     }
 
@@ -112,18 +108,30 @@ public class LocalDriverManager {
         if (defaultCaps.getBrowser().equalsIgnoreCase("chrome")) {
             startService();
             ChromeOptions options = new ChromeOptions();
+            boolean fast = defaultCaps.getLaunchProfile() == LaunchProfile.FAST;
+            // own profile per session, so parallel browsers never share locks, cache or storage
+            userDataDir = createProfileDirectory(fast);
+            options.addArguments("--user-data-dir=" + userDataDir);
             if (defaultCaps.isIncognito()) {
                 options.addArguments("--incognito");
             }
             if (defaultCaps.isHeadless()) {
-                options.addArguments("--headless");
+                options.addArguments(fast ? "--headless=new" : "--headless");
                 options.addArguments("--disable-gpu");
                 options.addArguments("--no-sandbox");
                 options.addArguments("--disable-dev-shm-usage");
             }
+            if (fast) {
+                Dimension size = windowSize(defaultCaps);
+                options.addArguments("--window-size=" + size.getWidth() + "," + size.getHeight());
+                options.addArguments(FAST_CHROME_ARGUMENTS);
+                options.setPageLoadStrategy(pageLoadStrategy());
+            }
             options.merge(capabilities);
             capabilities.setCapability(ChromeOptions.CAPABILITY, options);
-            driver = new ChromeDriver(chService, options);
+            ChromeDriver chromeDriver = new ChromeDriver(chService, options);
+            driver = chromeDriver;
+            DevToolsNetworkSettings.configured().applyTo(chromeDriver);
         } else if (defaultCaps.getBrowser().equalsIgnoreCase("firefox")) {
             capabilities.setCapability("networkConnectionEnabled", true);
             capabilities.setCapability("browserConnectionEnabled", true);
@@ -134,12 +142,93 @@ public class LocalDriverManager {
                 firefoxBinary.addCommandLineOptions("--headless");
                 firefoxOptions.setBinary(firefoxBinary);
             }
+            if (defaultCaps.getLaunchProfile() == LaunchProfile.FAST) {
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy());
+            }
             firefoxOptions.merge(capabilities);
             capabilities.setCapability(FirefoxOptions.FIREFOX_OPTIONS, firefoxOptions);
             driver = new FirefoxDriver(firefoxOptions);
         } else if (defaultCaps.getBrowser().equalsIgnoreCase("safari")) {
             driver = new SafariDriver();
         }
-        driver.manage().window().maximize();
+        if (defaultCaps.getLaunchProfile() == LaunchProfile.FAST) {
+            if (!(driver instanceof ChromeDriver)) { // chrome got its size at launch
+                driver.manage().window().setSize(windowSize(defaultCaps));
+            }
+        } else {
+            driver.manage().window().maximize();
+        }
+    }
+
+    /**
+     * Create the profile directory of a chrome session, on the memory backed file system (CHROME_PROFILE_ROOT,
+     * defaults to /dev/shm when it exists) for the fast launch profile so the profile never touches the disk.
+     *
+     * @param fast true for the fast launch profile
+     * @return profile directory
+     */
+    private static Path createProfileDirectory(boolean fast) {
+        try {
+            if (fast) {
+                String root = PropertiesManager.loadProp("CHROME_PROFILE_ROOT",
+                        Files.isWritable(MEMORY_FILE_SYSTEM) ? MEMORY_FILE_SYSTEM.toString() : "");
+                if (!root.isEmpty()) {
+                    return Files.createTempDirectory(Paths.get(root), "chrome-profile-");
+                }
+            }
+            return Files.createTempDirectory("chrome-profile-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a chrome profile directory", e);
+        }
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        String strategy = PropertiesManager.loadProp("BROWSER_PAGE_LOAD_STRATEGY", "eager");
+        PageLoadStrategy pageLoadStrategy = PageLoadStrategy.fromString(strategy.trim().toLowerCase(Locale.ROOT));
+        if (pageLoadStrategy == null) {
+            throw new IllegalArgumentException("Unknown BROWSER_PAGE_LOAD_STRATEGY " + strategy
+                    + ", expected normal, eager or none");
+        }
+        return pageLoadStrategy;
+    }
+
+    private static Dimension windowSize(DefaultCapabilities defaultCaps) {
+        String resolution = defaultCaps.getResolution() == null || defaultCaps.getResolution().isEmpty()
+                ? "1280x1024" : defaultCaps.getResolution();
+        String[] size = resolution.toLowerCase(Locale.ROOT).split("x");
+        try {
+            return new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Resolution must be WIDTHxHEIGHT: " + resolution, e);
+        }
+    }
+
+    /**
+     * Quit the driver, release the shared chrome driver service and delete the session's profile.
+     */
+    public void quit() {
+        try {
+            if (driver != null) {
+                driver.quit();
+            }
+        } finally {
+            driver = null;
+            if (chService != null) {
+                SharedChromeDriverService.release();
+                chService = null;
+            }
+            if (userDataDir != null) {
+                deleteDirectory(userDataDir);
+                userDataDir = null;
+            }
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Could not delete " + directory, e);
+        }
     }
 }
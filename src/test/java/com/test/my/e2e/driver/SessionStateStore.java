@@ -0,0 +1,353 @@
+package com.test.my.e2e.driver;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticated browser state per user: cookies plus the local and session storage of the page the user
+ * landed on after logging in. State captured once can be injected into any fresh or pooled driver instead
+ * of going through the login form again.
+ * State is kept in memory and persisted as JSON under SESSION_STATE_DIR (target/session-state), and
+ * expires SESSION_STATE_TTL (30m) after capture. The files hold live session cookies of test users, so
+ * they are only readable by the owner where the file system allows it.
+ */
+public final class SessionStateStore {
+
+    private static final Logger logger = CustomLogger.getLogger(SessionStateStore.class);
+    private static final SessionStateStore INSTANCE = new SessionStateStore(
+            Paths.get(PropertiesManager.loadProp("SESSION_STATE_DIR", "target/session-state")),
+            PropertiesManager.getDuration("SESSION_STATE_TTL", Duration.ofMinutes(30)));
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {"
+            + "  var items = {};"
+            + "  for (var i = 0; i < storage.length; i++) { items[storage.key(i)] = storage.getItem(storage.key(i)); }"
+            + "  return items;"
+            + "}"
+            + "return [location.origin, dump(window.localStorage), dump(window.sessionStorage)];";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "Object.keys(local).forEach(function(key) { window.localStorage.setItem(key, local[key]); });"
+            + "Object.keys(session).forEach(function(key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final Map<String, SessionState> states = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final Duration ttl;
+
+    private SessionStateStore(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    public static SessionStateStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lock to hold while logging a user in, so that concurrent tests for the same user log in only once.
+     *
+     * @param user user name
+     * @return lock object of the user
+     */
+    public Object lockFor(String user) {
+        return locks.computeIfAbsent(user, key -> new Object());
+    }
+
+    /**
+     * @param user user name
+     * @return capture time of the unexpired state stored for the user in epoch millis, 0 if there is none
+     */
+    public long capturedAt(String user) {
+        SessionState state = load(user);
+        return state == null ? 0 : state.capturedAt;
+    }
+
+    /**
+     * Capture the state of a logged in driver: every cookie (all domains on Chrome, the current domain
+     * otherwise) and the storage of the current page's origin.
+     *
+     * @param driver driver of the logged in user
+     * @param user   user name
+     */
+    @SuppressWarnings("unchecked")
+    public void capture(WebDriver driver, String user) {
+        SessionState state = new SessionState();
+        state.capturedAt = System.currentTimeMillis();
+        state.expiresAt = state.capturedAt + ttl.toMillis();
+        state.cookies = readCookies(driver);
+        List<Object> storage = (List<Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        state.origin = (String) storage.get(0);
+        state.localStorage = new LinkedHashMap<>((Map<String, String>) storage.get(1));
+        state.sessionStorage = new LinkedHashMap<>((Map<String, String>) storage.get(2));
+        states.put(user, state);
+        store(user, state);
+        logger.info("Captured session state of " + user + ": " + state.cookies.size() + " cookies, "
+                + state.localStorage.size() + " local and " + state.sessionStorage.size() + " session storage items");
+    }
+
+    /**
+     * Put the stored state of a user into a driver, then navigate to a url. The driver only visits the
+     * state's origin first if it is elsewhere and the state needs it (storage, or cookies on other browsers).
+     *
+     * @param driver driver to log in
+     * @param user   user name
+     * @param url    url to open once the state is in place
+     * @return false, without touching the driver, if no unexpired state is stored for the user
+     */
+    public boolean inject(WebDriver driver, String user, String url) {
+        SessionState state = load(user);
+        if (state == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        boolean onOrigin = state.origin.equals(originOf(driver.getCurrentUrl()));
+        if (driver instanceof ChromiumDriver) {
+            // cookies of every domain, e.g. the identity provider's, without visiting them
+            List<Map<String, Object>> cookies = new ArrayList<>();
+            for (StoredCookie cookie : state.cookies) {
+                if (!cookie.isExpired(now)) {
+                    cookies.add(cookie.toCdp());
+                }
+            }
+            ((ChromiumDriver) driver).executeCdpCommand("Network.setCookies",
+                    Collections.singletonMap("cookies", cookies));
+        } else {
+            if (!onOrigin) {
+                driver.navigate().to(state.origin);
+                onOrigin = true;
+            }
+            // only cookies of the origin's host and its parent domains can be set from it
+            String host = URI.create(state.origin).getHost();
+            for (StoredCookie cookie : state.cookies) {
+                if (!cookie.isExpired(now) && cookie.matches(host)) {
+                    driver.manage().addCookie(cookie.toCookie());
+                }
+            }
+        }
+        if (!state.localStorage.isEmpty() || !state.sessionStorage.isEmpty()) {
+            if (!onOrigin) {
+                driver.navigate().to(state.origin);
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.localStorage,
+                    state.sessionStorage);
+        }
+        driver.navigate().to(url);
+        return true;
+    }
+
+    /**
+     * Forget the state of a user, e.g. after the server rejected it.
+     *
+     * @param user user name
+     */
+    public void invalidate(String user) {
+        states.remove(user);
+        try {
+            Files.deleteIfExists(file(user));
+        } catch (IOException e) {
+            logger.warn("Could not delete session state of " + user, e);
+        }
+    }
+
+    private SessionState load(String user) {
+        long now = System.currentTimeMillis();
+        SessionState state = states.get(user);
+        if (state == null) {
+            state = read(user);
+            if (state != null) {
+                states.put(user, state);
+            }
+        }
+        if (state != null && state.expiresAt <= now) {
+            invalidate(user);
+            return null;
+        }
+        return state;
+    }
+
+    /**
+     * @return origin of the url as {@code location.origin} reports it, null if the url has no host
+     */
+    private static String originOf(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getHost() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static List<StoredCookie> readCookies(WebDriver driver) {
+        List<StoredCookie> cookies = new ArrayList<>();
+        if (driver instanceof ChromiumDriver) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> all = (List<Map<String, Object>>) ((ChromiumDriver) driver)
+                    .executeCdpCommand("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+            for (Map<String, Object> cookie : all) {
+                cookies.add(StoredCookie.fromCdp(cookie));
+            }
+        } else {
+            for (Cookie cookie : driver.manage().getCookies()) {
+                cookies.add(StoredCookie.fromCookie(cookie));
+            }
+        }
+        return cookies;
+    }
+
+    private Path file(String user) {
+        return directory.resolve(user.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    private SessionState read(String user) {
+        Path file = file(user);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, SessionState.class);
+        } catch (IOException | JsonSyntaxException e) {
+            logger.warn("Ignoring unreadable session state " + file, e);
+            return null;
+        }
+    }
+
+    private void store(String user, SessionState state) {
+        Path file = file(user);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "session", ".tmp");
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a posix file system
+            }
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(state, writer);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist session state of " + user + ", keeping it in memory only", e);
+        }
+    }
+
+    private static final class SessionState {
+        private long capturedAt;
+        private long expiresAt;
+        private String origin;
+        private List<StoredCookie> cookies;
+        private Map<String, String> localStorage;
+        private Map<String, String> sessionStorage;
+    }
+
+    private static final class StoredCookie {
+        private String name;
+        private String value;
+        private String domain;
+        private String path;
+        private Long expiry; // epoch millis, null for session cookies
+        private boolean secure;
+        private boolean httpOnly;
+        private String sameSite;
+
+        private static StoredCookie fromCookie(Cookie cookie) {
+            StoredCookie stored = new StoredCookie();
+            stored.name = cookie.getName();
+            stored.value = cookie.getValue();
+            stored.domain = cookie.getDomain();
+            stored.path = cookie.getPath();
+            stored.expiry = cookie.getExpiry() == null ? null : cookie.getExpiry().getTime();
+            stored.secure = cookie.isSecure();
+            stored.httpOnly = cookie.isHttpOnly();
+            stored.sameSite = cookie.getSameSite();
+            return stored;
+        }
+
+        private static StoredCookie fromCdp(Map<String, Object> cookie) {
+            StoredCookie stored = new StoredCookie();
+            stored.name = (String) cookie.get("name");
+            stored.value = (String) cookie.get("value");
+            stored.domain = (String) cookie.get("domain");
+            stored.path = (String) cookie.get("path");
+            boolean session = Boolean.TRUE.equals(cookie.get("session"));
+            Number expires = (Number) cookie.get("expires");
+            stored.expiry = session || expires == null ? null : (long) (expires.doubleValue() * 1000);
+            stored.secure = Boolean.TRUE.equals(cookie.get("secure"));
+            stored.httpOnly = Boolean.TRUE.equals(cookie.get("httpOnly"));
+            stored.sameSite = (String) cookie.get("sameSite");
+            return stored;
+        }
+
+        private boolean isExpired(long now) {
+            return expiry != null && expiry <= now;
+        }
+
+        private boolean matches(String host) {
+            String cookieDomain = domain.startsWith(".") ? domain.substring(1) : domain;
+            return host.equalsIgnoreCase(cookieDomain)
+                    || host.toLowerCase(Locale.ROOT).endsWith("." + cookieDomain.toLowerCase(Locale.ROOT));
+        }
+
+        private Cookie toCookie() {
+            Cookie.Builder builder = new Cookie.Builder(name, value).domain(domain).path(path)
+                    .isSecure(secure).isHttpOnly(httpOnly);
+            if (expiry != null) {
+                builder.expiresOn(new Date(expiry));
+            }
+            if (sameSite != null) {
+                builder.sameSite(sameSite);
+            }
+            return builder.build();
+        }
+
+        private Map<String, Object> toCdp() {
+            Map<String, Object> cookie = new HashMap<>();
+            cookie.put("name", name);
+            cookie.put("value", value);
+            cookie.put("domain", domain);
+            cookie.put("path", path);
+            cookie.put("secure", secure);
+            cookie.put("httpOnly", httpOnly);
+            if (expiry != null) {
+                cookie.put("expires", expiry / 1000.0);
+            }
+            if (sameSite != null) {
+                cookie.put("sameSite", sameSite);
+            }
+            return cookie;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.test.my.e2e.driver;
+
+import com.test.my.utils.CustomLogger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One chromedriver service per JVM, shared by every Chrome session. Sessions acquire and release it;
+ * it is stopped by {@link #shutdown()} at suite end (see {@link WebDriverPoolListener}) or at JVM exit.
+ * The driver binary comes from {@link DriverBinaryCache}, pinned to CHROME_DRIVER_VERSION when
+ * testPlatform is docker.
+ */
+public final class SharedChromeDriverService {
+
+    private static final String CHROME_DRIVER_VERSION = "90.0.4430.24";
+
+    private static final Logger logger = CustomLogger.getLogger(SharedChromeDriverService.class);
+    private static ChromeDriverService service;
+    private static int references;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SharedChromeDriverService::stop,
+                "chromedriver-service-shutdown"));
+    }
+
+    private SharedChromeDriverService() {
+        // keep this empty
+    }
+
+    /**
+     * Start the service if needed and take a reference on it.
+     *
+     * @return the running service
+     */
+    public static synchronized ChromeDriverService acquire() {
+        if (service == null || !service.isRunning()) {
+            String testPlatform = System.getProperty("testPlatform");
+            String version = testPlatform != null && testPlatform.equalsIgnoreCase("docker")
+                    ? CHROME_DRIVER_VERSION : null;
+            ChromeDriverService started = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(DriverBinaryCache.chromedriver(version)))
+                    .usingAnyFreePort()
+                    .build();
+            try {
+                started.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Fail to start chromedriver", e);
+            }
+            service = started;
+            logger.info("Started shared chromedriver service at " + service.getUrl());
+        }
+        references++;
+        return service;
+    }
+
+    /**
+     * Drop a reference taken by {@link #acquire()}. The service keeps running for the next session.
+     */
+    public static synchronized void release() {
+        if (references > 0) {
+            references--;
+        }
+    }
+
+    /**
+     * Stop the service unless a session still uses it.
+     */
+    public static synchronized void shutdown() {
+        if (references > 0) {
+            logger.warn("Not stopping chromedriver service, " + references + " session(s) still use it");
+            return;
+        }
+        stop();
+    }
+
+    private static synchronized void stop() {
+        if (service != null) {
+            service.stop();
+            service = null;
+            references = 0;
+        }
+    }
+}
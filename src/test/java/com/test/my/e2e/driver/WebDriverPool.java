@@ -0,0 +1,369 @@
+package com.test.my.e2e.driver;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM wide pool of browser sessions keyed by {@link DefaultCapabilities}.
+ * A returned Chromium session is reset (its tabs replaced by a blank one, cookies and the storage of every
+ * origin it visited cleared) and handed to the next lease for the same capabilities instead of launching a
+ * new browser. Sessions failing the health check on lease, failing the reset, reaching the reuse limit or
+ * of other browsers, which cannot be reset reliably, are quit and replaced.
+ * Configuration:
+ * <ul>
+ *     <li>WEBDRIVER_POOL_SIZE - maximum live sessions, which caps the browsers running in parallel.
+ *     Defaults to one per core, limited by physical memory at WEBDRIVER_MEMORY_PER_BROWSER_MB (768) each</li>
+ *     <li>WEBDRIVER_POOL_MAX_REUSE - leases per session before it is recycled, defaults to 20</li>
+ *     <li>WEBDRIVER_POOL_LEASE_TIMEOUT - maximum wait for a free session, defaults to 5m</li>
+ *     <li>WEBDRIVER_POOL_PREWARM - sessions started by {@link WebDriverPoolListener}, defaults to 1</li>
+ * </ul>
+ */
+public final class WebDriverPool {
+
+    private static final Logger logger = CustomLogger.getLogger(WebDriverPool.class);
+    private static final WebDriverPool INSTANCE = new WebDriverPool(
+            PropertiesManager.getInt("WEBDRIVER_POOL_SIZE", defaultPoolSize()),
+            PropertiesManager.getInt("WEBDRIVER_POOL_MAX_REUSE", 20),
+            PropertiesManager.getDuration("WEBDRIVER_POOL_LEASE_TIMEOUT", Duration.ofMinutes(5)));
+    private static final long POLL_MILLIS = 50;
+    // session storage is per tab and goes with it, cookies are cleared browser wide
+    private static final String CLEARED_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems";
+
+    private final Map<DefaultCapabilities, BlockingDeque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Semaphore capacity;
+    private final int maxReuse;
+    private final Duration leaseTimeout;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private volatile boolean closed;
+
+    private WebDriverPool(int size, int maxReuse, Duration leaseTimeout) {
+        this.capacity = new Semaphore(size);
+        this.maxReuse = maxReuse;
+        this.leaseTimeout = leaseTimeout;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "webdriver-pool-shutdown"));
+    }
+
+    public static WebDriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    // getTotalMemorySize replaces it from JDK 14 on, the build targets 11
+    @SuppressWarnings("deprecation")
+    private static int defaultPoolSize() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long bytesPerBrowser = PropertiesManager.getLong("WEBDRIVER_MEMORY_PER_BROWSER_MB", 768) * 1024 * 1024;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            long memory = ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+            return (int) Math.max(1, Math.min(cores, memory / bytesPerBrowser));
+        }
+        return Math.max(1, cores);
+    }
+
+    /**
+     * Lease a session for the capabilities, reusing an idle one when possible.
+     *
+     * @param testName      test name, set as capability on new sessions
+     * @param capabilities  capabilities of the session
+     * @return driver ready to use
+     * @throws IllegalStateException if no session frees up within WEBDRIVER_POOL_LEASE_TIMEOUT
+     */
+    public WebDriver lease(String testName, DefaultCapabilities capabilities) {
+        if (closed) {
+            throw new IllegalStateException("WebDriver pool is shut down");
+        }
+        long deadline = System.nanoTime() + leaseTimeout.toNanos();
+        while (true) {
+            PooledSession session = pollHealthy(capabilities);
+            if (session != null) {
+                reused.increment();
+                return markLeased(session);
+            }
+            if (capacity.tryAcquire() || (evictIdle() && capacity.tryAcquire())) {
+                return markLeased(create(testName, capabilities));
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IllegalStateException("No browser session available within " + leaseTimeout + ", "
+                        + describe());
+            }
+            try {
+                if (capacity.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return markLeased(create(testName, capabilities));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+            }
+        }
+    }
+
+    /**
+     * Return a leased session to the pool. Drivers that were not leased from the pool are quit.
+     *
+     * @param driver driver returned by {@link #lease(String, DefaultCapabilities)}
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Quitting a driver that was not leased from the pool");
+            driver.quit();
+            return;
+        }
+        if (closed || session.uses >= maxReuse || !reset(session)) {
+            recycled.increment();
+            discard(session);
+            return;
+        }
+        idle.computeIfAbsent(session.capabilities, key -> new LinkedBlockingDeque<>()).offerFirst(session);
+    }
+
+    /**
+     * Start sessions in parallel ahead of the first lease, up to the free capacity.
+     *
+     * @param capabilities  capabilities of the sessions
+     * @param count         number of sessions to start
+     */
+    public void prewarm(DefaultCapabilities capabilities, int count) {
+        List<Runnable> starts = new ArrayList<>();
+        for (int i = 0; i < count && capacity.tryAcquire(); i++) {
+            starts.add(() -> {
+                try {
+                    idle.computeIfAbsent(capabilities, key -> new LinkedBlockingDeque<>())
+                            .offerLast(create("prewarm", capabilities));
+                } catch (RuntimeException e) {
+                    logger.warn("Could not pre-warm a browser session", e);
+                }
+            });
+        }
+        if (starts.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(starts.size(), runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        starts.forEach(executor::execute);
+        executor.shutdown();
+        logger.info("Pre-warming " + starts.size() + " browser session(s) for " + capabilities);
+    }
+
+    /**
+     * Quit every session, idle or leased. Later leases fail.
+     */
+    public void shutdown() {
+        closed = true;
+        for (BlockingDeque<PooledSession> sessions : idle.values()) {
+            PooledSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                discard(session);
+            }
+        }
+        List<PooledSession> stillLeased;
+        synchronized (leased) {
+            stillLeased = new ArrayList<>(leased.values());
+            leased.clear();
+        }
+        if (!stillLeased.isEmpty()) {
+            logger.warn(stillLeased.size() + " browser session(s) still leased at shutdown");
+            stillLeased.forEach(this::discard);
+        }
+    }
+
+    /**
+     * @return one line summary of the pool counters
+     */
+    public String describe() {
+        return "webdriver pool: created=" + created.sum() + ", reused=" + reused.sum() + ", recycled="
+                + recycled.sum() + ", leased=" + leased.size() + ", free=" + capacity.availablePermits();
+    }
+
+    private PooledSession pollHealthy(DefaultCapabilities capabilities) {
+        BlockingDeque<PooledSession> sessions = idle.get(capabilities);
+        if (sessions == null) {
+            return null;
+        }
+        PooledSession session;
+        while ((session = sessions.pollFirst()) != null) {
+            if (isHealthy(session)) {
+                return session;
+            }
+            logger.warn("Discarding unresponsive browser session for " + capabilities);
+            recycled.increment();
+            discard(session);
+        }
+        return null;
+    }
+
+    private boolean evictIdle() {
+        for (BlockingDeque<PooledSession> sessions : idle.values()) {
+            PooledSession session = sessions.pollLast();
+            if (session != null) {
+                recycled.increment();
+                discard(session);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PooledSession create(String testName, DefaultCapabilities capabilities) {
+        LocalDriverManager manager = new LocalDriverManager();
+        try {
+            WebDriver driver = manager.getDriver(testName, capabilities);
+            created.increment();
+            return new PooledSession(capabilities, manager, driver);
+        } catch (RuntimeException e) {
+            try {
+                manager.quit();
+            } catch (RuntimeException quitError) {
+                e.addSuppressed(quitError);
+            }
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private WebDriver markLeased(PooledSession session) {
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    private static boolean isHealthy(PooledSession session) {
+        try {
+            return !session.driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reset a Chromium session for the next lease: the browsing state of every tab and origin it touched
+     * goes away. Other browsers cannot list the origins holding storage, so their sessions are recycled.
+     */
+    private static boolean reset(PooledSession session) {
+        if (!(session.driver instanceof ChromiumDriver)) {
+            return false;
+        }
+        ChromiumDriver driver = (ChromiumDriver) session.driver;
+        try {
+            // a fresh tab drops the session storage and history of the old ones
+            Set<String> used = driver.getWindowHandles();
+            driver.switchTo().newWindow(WindowType.TAB);
+            String main = driver.getWindowHandle();
+            Set<String> origins = new LinkedHashSet<>();
+            for (String handle : used) {
+                driver.switchTo().window(handle);
+                collectOrigins(driver, origins);
+                driver.close();
+            }
+            driver.switchTo().window(main);
+            DevToolsNetworkSettings.configured().applyTo(driver);
+            for (String origin : origins) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", origin);
+                params.put("storageTypes", CLEARED_STORAGE_TYPES);
+                driver.executeCdpCommand("Storage.clearDataForOrigin", params);
+            }
+            driver.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            return true;
+        } catch (WebDriverException | ClassCastException e) {
+            logger.warn("Could not reset browser session, recycling it", e);
+            return false;
+        }
+    }
+
+    /**
+     * Add the origins of the tab's navigation history and of its current frames.
+     */
+    private static void collectOrigins(ChromiumDriver driver, Set<String> origins) {
+        Map<String, Object> history = driver.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap());
+        for (Object entry : (List<?>) history.get("entries")) {
+            addOrigin(origins, (String) ((Map<?, ?>) entry).get("url"));
+        }
+        Map<String, Object> frames = driver.executeCdpCommand("Page.getFrameTree", Collections.emptyMap());
+        addFrameOrigins(origins, (Map<?, ?>) frames.get("frameTree"));
+    }
+
+    private static void addFrameOrigins(Set<String> origins, Map<?, ?> tree) {
+        addOrigin(origins, (String) ((Map<?, ?>) tree.get("frame")).get("url"));
+        Object children = tree.get("childFrames");
+        if (children instanceof List) {
+            for (Object child : (List<?>) children) {
+                addFrameOrigins(origins, (Map<?, ?>) child);
+            }
+        }
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            return; // about:blank, data: and the like hold no storage to clear
+        }
+        try {
+            URI uri = new URI(url);
+            if (uri.getHost() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort()));
+            }
+        } catch (URISyntaxException e) {
+            logger.debug("Not clearing storage of unparsable url " + url, e);
+        }
+    }
+
+    private void discard(PooledSession session) {
+        try {
+            session.manager.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Error quitting browser session", e);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    private static final class PooledSession {
+        private final DefaultCapabilities capabilities;
+        private final LocalDriverManager manager;
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(DefaultCapabilities capabilities, LocalDriverManager manager, WebDriver driver) {
+            this.capabilities = capabilities;
+            this.manager = manager;
+            this.driver = driver;
+        }
+    }
+}
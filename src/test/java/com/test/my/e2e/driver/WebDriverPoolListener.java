@@ -0,0 +1,49 @@
+package com.test.my.e2e.driver;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.slf4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Pre-warms {@link WebDriverPool} sessions for the suite's browser parameters when the suite starts, and
+ * quits every pooled session and the shared chromedriver service when it finishes. The parameter defaults
+ * match those of BaseTest.setup, so the pre-warmed sessions are the ones the test classes lease.
+ */
+public class WebDriverPoolListener implements ISuiteListener {
+
+    private static final Logger logger = CustomLogger.getLogger(WebDriverPoolListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        int count = PropertiesManager.getInt("WEBDRIVER_POOL_PREWARM", 1);
+        if (count <= 0) {
+            return;
+        }
+        DefaultCapabilities capabilities = new DefaultCapabilities(
+                parameter(suite, "browser", "Chrome"),
+                parameter(suite, "version", "latest"),
+                parameter(suite, "platform", "Windows"),
+                parameter(suite, "osVersion", "10"),
+                parameter(suite, "location", ""),
+                parameter(suite, "resolution", "1280x1024"),
+                Boolean.parseBoolean(parameter(suite, "incognito", "false")),
+                Boolean.parseBoolean(parameter(suite, "headless", "false")),
+                LaunchProfile.parse(parameter(suite, "launchProfile",
+                        PropertiesManager.loadProp("LAUNCH_PROFILE", "standard"))));
+        WebDriverPool.getInstance().prewarm(capabilities, count);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        logger.info(WebDriverPool.getInstance().describe());
+        WebDriverPool.getInstance().shutdown();
+        SharedChromeDriverService.shutdown();
+    }
+
+    private static String parameter(ISuite suite, String name, String defaultValue) {
+        String value = suite.getParameter(name);
+        return value == null ? defaultValue : value;
+    }
+}
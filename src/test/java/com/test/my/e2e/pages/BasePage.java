@@ -1,7 +1,13 @@
 package com.test.my.e2e.pages;
 
+import com.test.my.e2e.timing.ActionMetrics;
+import com.test.my.e2e.timing.PageTimings;
+import com.test.my.e2e.wait.AdaptiveWait;
+import com.test.my.e2e.wait.PollingPolicy;
+import com.test.my.e2e.wait.WaitTelemetry;
 import com.test.my.exceptions.ElementNotFoundException;
 import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -10,22 +16,119 @@ import org.slf4j.Logger;
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 public class BasePage<W extends BasePage> {
     public static final Duration WEB_DRIVER_TIMEOUT_IN_SECONDS = Duration.ofSeconds(60);
     public static final String ELEMENT_NOT_FOUND = "Element not found";
     private static final Duration TIME_OUT_IN_SECONDS = Duration.ofSeconds(30);
     private static final Logger logger = CustomLogger.getLogger(BasePage.class);
+    /**
+     * Ceiling of the readiness waits, PAGE_READY_TIMEOUT.
+     */
+    public static final Duration PAGE_READY_TIMEOUT =
+            PropertiesManager.getDuration("PAGE_READY_TIMEOUT", Duration.ofSeconds(30));
+    /**
+     * How long the DOM must go without mutations to count as settled, PAGE_DOM_QUIET_PERIOD.
+     */
+    public static final Duration DOM_QUIET_PERIOD =
+            PropertiesManager.getDuration("PAGE_DOM_QUIET_PERIOD", Duration.ofMillis(300));
+    // Installs per-document hooks counting pending fetch/XHR calls and recording the last DOM mutation,
+    // then reports [readyState, pending requests, millis since last mutation]. Requests started before the
+    // hooks were installed are not counted.
+    private static final String PAGE_STATE_SCRIPT =
+            "var h = window.__pageReadyHooks;"
+            + "if (!h) {"
+            + "  h = window.__pageReadyHooks = {pending: 0, lastMutation: Date.now()};"
+            + "  var send = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function() {"
+            + "    h.pending++;"
+            + "    this.addEventListener('loadend', function() { h.pending--; });"
+            + "    return send.apply(this, arguments);"
+            + "  };"
+            + "  if (window.fetch) {"
+            + "    var fetch = window.fetch;"
+            + "    window.fetch = function() {"
+            + "      h.pending++;"
+            + "      return fetch.apply(this, arguments).finally(function() { h.pending--; });"
+            + "    };"
+            + "  }"
+            + "  new MutationObserver(function() { h.lastMutation = Date.now(); }).observe(document,"
+            + "      {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "}"
+            + "return [document.readyState, h.pending, Date.now() - h.lastMutation];";
     protected final WebDriver driver;
+    // compiled locators shared by all pages, By objects are immutable
+    private static final Map<LocatorType, Map<String, By>> LOCATORS = new EnumMap<>(LocatorType.class);
+    /**
+     * How long {@link #doesElementExist(String, LocatorType)} gives an element to show up, ELEMENT_EXISTS_GRACE.
+     */
+    public static final Duration ELEMENT_EXISTS_GRACE =
+            PropertiesManager.getDuration("ELEMENT_EXISTS_GRACE", Duration.ofSeconds(5));
+    private static final Set<LocatorType> SCRIPT_LOCATOR_TYPES = EnumSet.of(LocatorType.CSS, LocatorType.ID,
+            LocatorType.XPATH, LocatorType.TAG_NAME, LocatorType.NAME, LocatorType.CLASS_NAME,
+            LocatorType.LINK_TEXT, LocatorType.PARTIAL_LINK_TEXT);
+    // Finds the element(s) for arguments [locator type, locator, all, require enabled] and returns the first
+    // element, or every element, only once displayed (and enabled), otherwise null: one command per poll.
+    // A selector the browser cannot parse comes back as {invalidSelector: message} rather than a script error.
+    private static final String RESOLVE_SCRIPT =
+            "var type = arguments[0], value = arguments[1], all = arguments[2], requireEnabled = arguments[3];"
+            + "var found = [];"
+            + "try {"
+            + "switch (type) {"
+            + "  case 'CSS': found = document.querySelectorAll(value); break;"
+            + "  case 'ID': found = document.querySelectorAll('[id=\"' + value.replace(/[\"\\\\]/g, '\\\\$&') + '\"]'); break;"
+            + "  case 'NAME': found = document.getElementsByName(value); break;"
+            + "  case 'CLASS_NAME': found = document.getElementsByClassName(value); break;"
+            + "  case 'TAG_NAME': found = document.getElementsByTagName(value); break;"
+            + "  case 'XPATH':"
+            + "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }"
+            + "    break;"
+            + "  case 'LINK_TEXT': case 'PARTIAL_LINK_TEXT':"
+            + "    found = Array.prototype.filter.call(document.getElementsByTagName('a'), function(a) {"
+            + "      var text = (a.innerText || a.textContent || '').trim();"
+            + "      return type === 'LINK_TEXT' ? text === value : text.indexOf(value) >= 0;"
+            + "    });"
+            + "    break;"
+            + "}"
+            + "} catch (e) {"
+            + "  if (e && (e.name === 'SyntaxError' || e.name === 'NamespaceError')) { return {invalidSelector: e.message}; }"
+            + "  throw e;"
+            + "}"
+            + "function usable(el) {"
+            + "  if (!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.visibility === 'hidden' || style.opacity === '0') { return false; }"
+            + "  return !requireEnabled || !el.disabled;"
+            + "}"
+            + "if (!found.length) { return null; }"
+            + "if (!all) { return usable(found[0]) ? found[0] : null; }"
+            + "for (var j = 0; j < found.length; j++) { if (!usable(found[j])) { return null; } }"
+            + "return Array.prototype.slice.call(found);";
     private final HashMap<String, String> elementLocators = new HashMap<>();
+    // elements resolved on the current document of this page, cleared on navigation
+    private final Map<By, WebElement> elementCache = new HashMap<>();
     protected WebDriverWait wait;
     protected String pageUrl;
     private boolean printElementNotFoundFlag = true;
 
+    static {
+        for (LocatorType locatorType : LocatorType.values()) {
+            LOCATORS.put(locatorType, new ConcurrentHashMap<>());
+        }
+    }
+
     /**
      * constructor for base page.
      *
@@ -33,7 +136,7 @@ public class BasePage<W extends BasePage> {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        wait = new WebDriverWait(driver, WEB_DRIVER_TIMEOUT_IN_SECONDS);
+        wait = newWait(WEB_DRIVER_TIMEOUT_IN_SECONDS);
         pageUrl = driver.getCurrentUrl();
     }
 
@@ -41,16 +144,60 @@ public class BasePage<W extends BasePage> {
         this(driver);
         pageUrl = url;
         this.driver.navigate().to(url);
+        capturePageTiming();
+    }
+
+    /**
+     * Create a wait polling with the shared {@link PollingPolicy#DEFAULT} policy and
+     * recording its telemetry under this page class.
+     *
+     * @param timeout maximum time to wait
+     * @return wait
+     */
+    protected WebDriverWait newWait(Duration timeout) {
+        return new AdaptiveWait(driver, timeout, getClass().getSimpleName());
+    }
+
+    /**
+     * Create a wait as {@link #newWait(Duration)}, recording its telemetry under this page class and
+     * what it waits for.
+     *
+     * @param timeout  maximum time to wait
+     * @param purpose  what is awaited, e.g. "page ready"
+     * @return wait
+     */
+    protected WebDriverWait newWait(Duration timeout, String purpose) {
+        return new AdaptiveWait(driver, timeout, getClass().getSimpleName() + " " + purpose);
     }
 
     /**
-     * Get By locator from String locator.
+     * Create a wait as {@link #newWait(Duration, String)} for resolving elements. It also ignores script
+     * failures and stale elements, which polls hit while a navigation replaces the document; an invalid
+     * selector is not a script failure, see {@link #awaitInPage}.
+     *
+     * @param timeout  maximum time to wait
+     * @param purpose  what is awaited, e.g. "find"
+     * @return wait
+     */
+    private WebDriverWait newFindWait(Duration timeout, String purpose) {
+        WebDriverWait findWait = newWait(timeout, purpose);
+        findWait.ignoring(JavascriptException.class);
+        findWait.ignoring(StaleElementReferenceException.class);
+        return findWait;
+    }
+
+    /**
+     * Get By locator from String locator. Locators are compiled once and shared.
      *
      * @param locator     locator name
      * @param locatorType locator type
-     * @return locator  the desired locator
+     * @return locator  the desired locator, null for locator types not supported by web drivers
      */
     public static By getLocator(String locator, LocatorType locatorType) {
+        return LOCATORS.get(locatorType).computeIfAbsent(locator, key -> createLocator(key, locatorType));
+    }
+
+    private static By createLocator(String locator, LocatorType locatorType) {
         By by = null;
         switch (locatorType) {
             case CSS:
@@ -84,6 +231,13 @@ public class BasePage<W extends BasePage> {
         return by;
     }
 
+    /**
+     * Fill the changeable part into a locator, skipping the formatting when there is nothing to fill.
+     */
+    private static String formatLocator(String locator, String changeablePart) {
+        return locator.indexOf('%') < 0 ? locator : String.format(locator, changeablePart);
+    }
+
     public static void pause(String reason, long timeToSleep) {
         pause(reason, timeToSleep, 0);
     }
@@ -96,34 +250,155 @@ public class BasePage<W extends BasePage> {
      * @nanos nanosecond
      */
     public static void pause(String reason, long timeToSleep, int nanos) {
-        logger.info("Pausing thread for " + timeToSleep + " MILLISECONDS and " +
-                nanos + " NANOSECONDS. Reason: " + reason);
+        long start = ActionMetrics.start();
+        try {
+            logger.info("Pausing thread for " + timeToSleep + " MILLISECONDS and " +
+                    nanos + " NANOSECONDS. Reason: " + reason);
 
-        long startTime;
-        long endTime;
-        long timeSlept = 0;
-        boolean interrupted = false;
+            long startTime;
+            long endTime;
+            long timeSlept = 0;
+            boolean interrupted = false;
+
+            while (timeToSleep > 0) {
+                startTime = System.currentTimeMillis();
+                try {
+                    Thread.sleep(timeToSleep, nanos);
+                    break;
+                } catch (InterruptedException e) {
+                    logger.error("Error in waiting: ", e);
+                    endTime = System.currentTimeMillis();
+                    timeSlept = endTime - startTime;
+                    timeToSleep -= timeSlept;
+                    interrupted = true;
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                logger.info("Pausing thread for " + timeToSleep + " MILLISECONDS and " +
+                        nanos + " NANOSECONDS. Reason: " + reason);
+            }
+            logger.info("Thread is unpaused.");
+        } finally {
+            ActionMetrics.record("BasePage", "pause", start);
+        }
+    }
 
-        while (timeToSleep > 0) {
-            startTime = System.currentTimeMillis();
+    /**
+     * Wait until the page is ready: document loaded, no pending fetch/XHR and no DOM mutation for
+     * DOM_QUIET_PERIOD, for at most PAGE_READY_TIMEOUT. Carries on with a warning at the ceiling, as pages
+     * with long polling or animations never settle.
+     *
+     * @return pageObject
+     */
+    public W waitForPageReady() {
+        return waitForPageReady(PAGE_READY_TIMEOUT);
+    }
+
+    /**
+     * Wait until the page is ready: document loaded, no pending fetch/XHR and no DOM mutation for
+     * DOM_QUIET_PERIOD.
+     *
+     * @param timeout maximum time to wait
+     * @return pageObject
+     */
+    @SuppressWarnings("unchecked")
+    public W waitForPageReady(Duration timeout) {
+        long start = ActionMetrics.start();
+        try {
+            WebDriverWait readyWait = newWait(timeout, "page ready");
+            readyWait.ignoring(JavascriptException.class);
             try {
-                Thread.sleep(timeToSleep, nanos);
-                break;
-            } catch (InterruptedException e) {
-                logger.error("Error in waiting: ", e);
-                endTime = System.currentTimeMillis();
-                timeSlept = endTime - startTime;
-                timeToSleep -= timeSlept;
-                interrupted = true;
-                Thread.currentThread().interrupt();
+                readyWait.until(localDriver -> isPageReady());
+            } catch (TimeoutException e) {
+                logger.warn("Page " + driver.getCurrentUrl() + " not settled after " + timeout + ", carrying on");
             }
+            capturePageTiming();
+            return (W) this;
+        } finally {
+            recordAction("waitForPageReady", start);
         }
-        if (interrupted) {
-            Thread.currentThread().interrupt();
-            logger.info("Pausing thread for " + timeToSleep + " MILLISECONDS and " +
-                    nanos + " NANOSECONDS. Reason: " + reason);
+    }
+
+    /**
+     * Record an action of this page in {@link ActionMetrics}, under the page class.
+     *
+     * @param action     action, e.g. click or login
+     * @param startNanos value of {@link ActionMetrics#start()} when the action started
+     */
+    protected void recordAction(String action, long startNanos) {
+        if (ActionMetrics.isEnabled()) {
+            ActionMetrics.record(getClass().getSimpleName(), action, startNanos);
+        }
+    }
+
+    /**
+     * Record the load timing of the current document, once it finished loading, under this page class.
+     */
+    protected void capturePageTiming() {
+        PageTimings.capture(driver, getClass().getSimpleName());
+    }
+
+    private boolean isPageReady() {
+        List<?> state = (List<?>) ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+        return "complete".equals(state.get(0)) && ((Number) state.get(1)).longValue() <= 0
+                && ((Number) state.get(2)).longValue() >= DOM_QUIET_PERIOD.toMillis();
+    }
+
+    /**
+     * Wait until the browser leaves the given url, e.g. after submitting a form.
+     *
+     * @param fromUrl url before the action
+     * @return true if the url changed within PAGE_READY_TIMEOUT
+     */
+    public boolean waitForUrlChange(String fromUrl) {
+        return waitForUrlChange(fromUrl, PAGE_READY_TIMEOUT);
+    }
+
+    /**
+     * Wait until the browser leaves the given url, e.g. after submitting a form.
+     *
+     * @param fromUrl url before the action
+     * @param timeout maximum time to wait
+     * @return true if the url changed within the timeout
+     */
+    public boolean waitForUrlChange(String fromUrl, Duration timeout) {
+        long start = ActionMetrics.start();
+        try {
+            WebDriverWait urlWait = newWait(timeout, "url change");
+            try {
+                urlWait.until(localDriver -> !fromUrl.equals(localDriver.getCurrentUrl()));
+                return true;
+            } catch (TimeoutException e) {
+                logger.warn("Url still " + fromUrl + " after " + timeout);
+                return false;
+            }
+        } finally {
+            recordAction("waitForUrlChange", start);
+        }
+    }
+
+    /**
+     * Wait until an element is displayed, enabled and not read only, for at most PAGE_READY_TIMEOUT.
+     *
+     * @param element element to wait for
+     * @return true if the element became editable
+     */
+    public boolean waitForEditable(WebElement element) {
+        long start = ActionMetrics.start();
+        try {
+            WebDriverWait editableWait = newWait(PAGE_READY_TIMEOUT, "editable");
+            try {
+                editableWait.until(localDriver -> element.isDisplayed() && element.isEnabled()
+                        && element.getAttribute("readonly") == null);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            }
+        } finally {
+            recordAction("waitForEditable", start);
         }
-        logger.info("Thread is unpaused.");
     }
 
     /**
@@ -133,14 +408,14 @@ public class BasePage<W extends BasePage> {
      * @param timeOutInSec timeout value in seconds.
      */
     public void changeDefaultTimeout(Duration timeOutInSec) {
-        wait = new WebDriverWait(driver, timeOutInSec);
+        wait = newWait(timeOutInSec);
     }
 
     /**
      * Reset the wait to default time out.
      */
     public void resetDefaultTimeout() {
-        wait = new WebDriverWait(driver, WEB_DRIVER_TIMEOUT_IN_SECONDS);
+        wait = newWait(WEB_DRIVER_TIMEOUT_IN_SECONDS);
     }
 
     public String getPageUrl() {
@@ -157,6 +432,7 @@ public class BasePage<W extends BasePage> {
      * @return url of navigated page
      */
     public String navigateToBack() {
+        invalidateElementCache();
         driver.navigate().back();
         return driver.getCurrentUrl();
     }
@@ -180,20 +456,28 @@ public class BasePage<W extends BasePage> {
      * @param url url to load
      */
     public boolean navigateToURL(String url) {
+        long start = ActionMetrics.start();
         try {
-            driver.navigate().to(url);
-            wait.until(ExpectedConditions.urlContains(url));
+            invalidateElementCache();
+            try {
+                driver.navigate().to(url);
+                wait.until(ExpectedConditions.urlContains(url));
+                capturePageTiming();
 
-        } catch (Exception e) {
-            return false;
+            } catch (Exception e) {
+                return false;
+            }
+            return true;
+        } finally {
+            recordAction("navigate", start);
         }
-        return true;
     }
 
     /**
      * Helper keyboard to dismiss keyboard if present.
      */
     public void hideKeyboard() {
+        invalidateElementCache();
         try {
             driver.navigate().back();
         } catch (Exception ex) {
@@ -252,16 +536,8 @@ public class BasePage<W extends BasePage> {
      */
     public WebElement getElement(String locatorNameFromProperty, String changeablePartInLocator,
                                  LocatorType aLocatorType, Duration timeOutInSec) {
-        if (!elementLocators.containsKey(locatorNameFromProperty)) {
-            elementLocators.put(locatorNameFromProperty, locatorNameFromProperty);
-        }
-
-        if (timeOutInSec == WEB_DRIVER_TIMEOUT_IN_SECONDS) {
-            return getWebElement(String.format(elementLocators.get(locatorNameFromProperty), changeablePartInLocator),
-                    aLocatorType);
-        }
-        return getWebElement(String.format(elementLocators.get(locatorNameFromProperty), changeablePartInLocator),
-                aLocatorType, timeOutInSec);
+        String locator = elementLocators.computeIfAbsent(locatorNameFromProperty, key -> key);
+        return findWebElement(formatLocator(locator, changeablePartInLocator), locator, aLocatorType, timeOutInSec);
     }
 
     /**
@@ -277,6 +553,8 @@ public class BasePage<W extends BasePage> {
 
     /**
      * Find out and return desired web element with given timeout.
+     * An element already resolved on the current document is reused after a single visibility check,
+     * and resolved again if it went stale or hidden.
      *
      * @param locator      name of the locator
      * @param locatorType  type of the locator
@@ -284,12 +562,50 @@ public class BasePage<W extends BasePage> {
      * @return web element
      */
     public WebElement getWebElement(String locator, LocatorType locatorType, Duration timeOutInSec) {
+        return findWebElement(locator, locator, locatorType, timeOutInSec);
+    }
+
+    /**
+     * Find an element, recording its wait under the locator template rather than the formatted locator,
+     * so the wait telemetry keeps one entry per locator and not one per runtime value.
+     */
+    private WebElement findWebElement(String locator, String template, LocatorType locatorType,
+                                      Duration timeOutInSec) {
+        long start = ActionMetrics.start();
+        try {
+            By byLocator = getLocator(locator, locatorType);
+            WebElement cached = elementCache.get(byLocator);
+            if (cached != null) {
+                try {
+                    if (cached.isDisplayed()) {
+                        return cached;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    // the document changed, resolve again below
+                }
+                elementCache.remove(byLocator);
+            }
+            WebElement webElement = resolveWebElement(byLocator, locator, template, locatorType, timeOutInSec);
+            elementCache.put(byLocator, webElement);
+            return webElement;
+        } finally {
+            recordAction("find", start);
+        }
+    }
+
+    private WebElement resolveWebElement(By byLocator, String locator, String template, LocatorType locatorType,
+                                         Duration timeOutInSec) {
         WebElement webElement;
-        WebDriverWait localWait = new WebDriverWait(driver, timeOutInSec);
-        By byLocator = getLocator(locator, locatorType);
+        WebDriverWait localWait = newFindWait(timeOutInSec, "find " + locatorType + " " + template);
         try {
-            localWait.until(ExpectedConditions.presenceOfElementLocated(byLocator));
-            webElement = localWait.until(ExpectedConditions.visibilityOfElementLocated(byLocator));
+            if (canResolveInPage(locatorType)) {
+                webElement = (WebElement) awaitInPage(localWait, locator, locatorType, false, false);
+            } else {
+                localWait.until(ExpectedConditions.presenceOfElementLocated(byLocator));
+                webElement = localWait.until(ExpectedConditions.visibilityOfElementLocated(byLocator));
+            }
+        } catch (InvalidSelectorException e) {
+            throw e;
         } catch (Exception e) {
             if (printElementNotFoundFlag) {
                 logger.error(ELEMENT_NOT_FOUND + locator, e);
@@ -320,19 +636,105 @@ public class BasePage<W extends BasePage> {
      * @return a list of elements found by the provided locator
      */
     public List<WebElement> getWebElements(String locator, LocatorType locatorType, Duration timeOutInSec) {
-        List<WebElement> webElements;
-        By byLocator = getLocator(locator, locatorType);
-        WebDriverWait localWait = new WebDriverWait(driver, timeOutInSec);
+        return findWebElements(locator, locator, locatorType, timeOutInSec);
+    }
+
+    private List<WebElement> findWebElements(String locator, String template, LocatorType locatorType,
+                                             Duration timeOutInSec) {
+        long start = ActionMetrics.start();
         try {
-            localWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(byLocator));
-            webElements = localWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(byLocator));
-        } catch (Exception e) {
-            if (printElementNotFoundFlag) {
-                logger.error(ELEMENT_NOT_FOUND + locator, e);
+            List<WebElement> webElements;
+            By byLocator = getLocator(locator, locatorType);
+            WebDriverWait localWait = newFindWait(timeOutInSec, "find " + locatorType + " " + template);
+            try {
+                if (canResolveInPage(locatorType)) {
+                    webElements = toElements(awaitInPage(localWait, locator, locatorType, true, false));
+                } else {
+                    localWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(byLocator));
+                    webElements = localWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(byLocator));
+                }
+            } catch (InvalidSelectorException e) {
+                throw e;
+            } catch (Exception e) {
+                if (printElementNotFoundFlag) {
+                    logger.error(ELEMENT_NOT_FOUND + locator, e);
+                }
+                throw new ElementNotFoundException("Could not find element" + locator + " using " + locatorType);
             }
-            throw new ElementNotFoundException("Could not find element" + locator + " using " + locatorType);
+            return webElements;
+        } finally {
+            recordAction("findAll", start);
         }
-        return webElements;
+    }
+
+    /**
+     * Find out and return an element once it is displayed and enabled, as
+     * {@link #clickOnElement(String, LocatorType)} does before clicking it.
+     *
+     * @param locator      name of the locator
+     * @param locatorType  type of the locator
+     * @param timeOutInSec timeout value in seconds
+     * @return web element
+     */
+    public WebElement getEnabledWebElement(String locator, LocatorType locatorType, Duration timeOutInSec) {
+        long start = ActionMetrics.start();
+        try {
+            WebDriverWait localWait = newFindWait(timeOutInSec, "find " + locatorType + " " + locator);
+            try {
+                if (canResolveInPage(locatorType)) {
+                    return (WebElement) awaitInPage(localWait, locator, locatorType, false, true);
+                }
+                return localWait.until(ExpectedConditions.elementToBeClickable(getLocator(locator, locatorType)));
+            } catch (InvalidSelectorException e) {
+                throw e;
+            } catch (Exception e) {
+                if (printElementNotFoundFlag) {
+                    logger.error(ELEMENT_NOT_FOUND + locator, e);
+                }
+                throw new ElementNotFoundException("Could not find enabled element " + locator + " using "
+                        + locatorType);
+            }
+        } finally {
+            recordAction("findEnabled", start);
+        }
+    }
+
+    private boolean canResolveInPage(LocatorType locatorType) {
+        return driver instanceof JavascriptExecutor && SCRIPT_LOCATOR_TYPES.contains(locatorType);
+    }
+
+    private Object resolveInPage(String locator, LocatorType locatorType, boolean all, boolean requireEnabled) {
+        Object result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, locatorType.name(), locator,
+                all, requireEnabled);
+        if (result instanceof Map) {
+            throw new InvalidSelectorException("Invalid " + locatorType + " locator " + locator + ": "
+                    + ((Map<?, ?>) result).get("invalidSelector"));
+        }
+        return result;
+    }
+
+    /**
+     * Poll {@link #resolveInPage} until it finds something. WebDriverWait ignores InvalidSelectorException
+     * as a NotFoundException, so it is carried out of the wait as a result and thrown on the first poll.
+     */
+    private Object awaitInPage(WebDriverWait findWait, String locator, LocatorType locatorType, boolean all,
+                               boolean requireEnabled) {
+        Object result = findWait.until(localDriver -> {
+            try {
+                return resolveInPage(locator, locatorType, all, requireEnabled);
+            } catch (InvalidSelectorException e) {
+                return e;
+            }
+        });
+        if (result instanceof InvalidSelectorException) {
+            throw (InvalidSelectorException) result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WebElement> toElements(Object result) {
+        return result == null ? null : (List<WebElement>) result;
     }
 
     /**
@@ -382,37 +784,24 @@ public class BasePage<W extends BasePage> {
      */
     public List<WebElement> getElements(String locatorNameFromProperty, String variableInLocator,
                                         LocatorType locatorType, Duration timeOutInSec) {
-        if (!elementLocators.containsKey(locatorNameFromProperty)) {
-            elementLocators.put(locatorNameFromProperty, locatorNameFromProperty);
-        }
-
-        if (timeOutInSec == TIME_OUT_IN_SECONDS) {
-            return getWebElements(String.format(elementLocators.get(locatorNameFromProperty), variableInLocator),
-                    locatorType);
-        }
-
-        return getWebElements(String.format(elementLocators.get(locatorNameFromProperty), variableInLocator),
-                locatorType, timeOutInSec);
+        String locator = elementLocators.computeIfAbsent(locatorNameFromProperty, key -> key);
+        return findWebElements(formatLocator(locator, variableInLocator), locator, locatorType, timeOutInSec);
     }
 
     /**
-     * Check existence of an element.
+     * Check that an element is displayed, giving it ELEMENT_EXISTS_GRACE to show up.
+     * An absent element costs the grace period, not the default timeout.
      *
-     * @param locator     element of interest
-     * @param locatorType locator type
+     * @param locator                 element of interest
+     * @param changeablePartInLocator desired content of the locator that is dynamic
+     * @param locatorType             locator type
      * @return true if the element exists on the current page, false otherwise
      */
     public boolean doesElementExist(String locator, String changeablePartInLocator, LocatorType locatorType) {
-        printElementNotFoundFlag = false;
-        boolean exist;
-        try {
-            getElement(locator, changeablePartInLocator, locatorType);
-            exist = true;
-        } catch (Exception e) {
-            exist = false;
-        }
-        printElementNotFoundFlag = true;
-        return exist;
+        String template = elementLocators.computeIfAbsent(locator, key -> key);
+        String formatted = formatLocator(template, changeablePartInLocator);
+        return pollFor("exists " + locatorType + " " + template, ELEMENT_EXISTS_GRACE,
+                () -> isElementDisplayed(formatted, locatorType));
     }
 
     /**
@@ -420,26 +809,110 @@ public class BasePage<W extends BasePage> {
      *
      * @param locator      locator as String
      * @param aLocatorType LocatorType enum value
-     * @return
+     * @return true if the element exists on the current page, false otherwise
      */
     public boolean doesElementExist(String locator, LocatorType aLocatorType) {
         return doesElementExist(locator, "", aLocatorType);
     }
 
+    /**
+     * Check right now whether an element is in the DOM, with a single findElements call.
+     *
+     * @param locator     locator as String
+     * @param locatorType locator type
+     * @return true if at least one element matches
+     */
+    public boolean isElementPresent(String locator, LocatorType locatorType) {
+        return !driver.findElements(getLocator(locator, locatorType)).isEmpty();
+    }
+
+    /**
+     * Check whether an element is in the DOM or appears within a grace period.
+     *
+     * @param locator     locator as String
+     * @param locatorType locator type
+     * @param grace       how long to give the element to appear
+     * @return true if at least one element matches within the grace period
+     */
+    public boolean isElementPresent(String locator, LocatorType locatorType, Duration grace) {
+        return pollFor("present " + locatorType + " " + locator, grace,
+                () -> isElementPresent(locator, locatorType));
+    }
+
+    /**
+     * Wait until no element matches the locator any more, e.g. for a spinner to go away.
+     *
+     * @param locator     locator as String
+     * @param locatorType locator type
+     * @param timeout     maximum time to wait
+     * @return true if the element is absent, false if it was still present at the timeout
+     */
+    public boolean waitUntilAbsent(String locator, LocatorType locatorType, Duration timeout) {
+        return pollFor("absent " + locatorType + " " + locator, timeout,
+                () -> !isElementPresent(locator, locatorType));
+    }
+
+    private boolean isElementDisplayed(String locator, LocatorType locatorType) {
+        try {
+            if (canResolveInPage(locatorType)) {
+                return resolveInPage(locator, locatorType, false, false) != null;
+            }
+            List<WebElement> elements = driver.findElements(getLocator(locator, locatorType));
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (StaleElementReferenceException | JavascriptException e) {
+            // the document is changing, try again on the next poll; an invalid selector is thrown as is
+            return false;
+        }
+    }
+
+    /**
+     * Evaluate a condition until it holds or the timeout passes, polling with the shared policy.
+     * Unlike a wait, an unmet condition is a plain false rather than a timeout exception.
+     */
+    private boolean pollFor(String purpose, Duration timeout, BooleanSupplier condition) {
+        long start = System.nanoTime();
+        long end = start + timeout.toNanos();
+        int polls = 0;
+        while (true) {
+            polls++;
+            boolean met = condition.getAsBoolean();
+            long remaining = end - System.nanoTime();
+            if (met || remaining <= 0) {
+                WaitTelemetry.record(getClass().getSimpleName() + " " + purpose, System.nanoTime() - start,
+                        polls, !met);
+                recordAction("poll", start);
+                return met;
+            }
+            try {
+                Thread.sleep(Math.max(1, Math.min(PollingPolicy.DEFAULT.nextInterval(polls).toMillis(),
+                        TimeUnit.NANOSECONDS.toMillis(remaining))));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return met;
+            }
+        }
+    }
+
     /**
      * To click for actions.
      *
      * @param webElement element
      * @return
      */
+    @SuppressWarnings("unchecked")
     public W clickOnElementActions(WebElement webElement) {
-        Actions actionBuilder = new Actions(driver);
-        actionBuilder.moveToElement(webElement).click().build().perform();
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            Actions actionBuilder = new Actions(driver);
+            actionBuilder.moveToElement(webElement).click().build().perform();
+            return (W) this;
+        } finally {
+            recordAction("actionsClick", start);
+        }
     }
 
     /**
-     * Safely click on an element.
+     * Safely click on an element once it is displayed and enabled.
      *
      * @param locatorNameFromProperty path locator from property file.
      * @param locatorType             type of locator to be used.
@@ -447,7 +920,13 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W clickOnElement(String locatorNameFromProperty, LocatorType locatorType) {
-        clickOnElement(getElement(locatorNameFromProperty, locatorType));
+        String locator = elementLocators.computeIfAbsent(locatorNameFromProperty, key -> key);
+        try {
+            clickOnElement(getEnabledWebElement(locator, locatorType, WEB_DRIVER_TIMEOUT_IN_SECONDS));
+        } catch (StaleElementReferenceException e) {
+            // the document changed between resolving and clicking
+            clickOnElement(getEnabledWebElement(locator, locatorType, WEB_DRIVER_TIMEOUT_IN_SECONDS));
+        }
         return (W) this;
     }
 
@@ -460,11 +939,16 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W clickOnElement(WebElement webElement, boolean scrollToElement) {
-        if (scrollToElement) {
-            scrollToACertainElement(webElement);
+        long start = ActionMetrics.start();
+        try {
+            if (scrollToElement) {
+                scrollToACertainElement(webElement);
+            }
+            webElement.click();
+            return (W) this;
+        } finally {
+            recordAction("click", start);
         }
-        webElement.click();
-        return (W) this;
     }
 
     /**
@@ -502,11 +986,16 @@ public class BasePage<W extends BasePage> {
     @SuppressWarnings("unchecked")
     public W clickOnElementUsingJavaScript(String locatorNameFromProperty, String variablePart,
                                            LocatorType locatorType) {
-        By locator = getLocator(String.format(locatorNameFromProperty, variablePart), locatorType);
-        WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", element);
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            By locator = getLocator(formatLocator(locatorNameFromProperty, variablePart), locatorType);
+            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].click();", element);
+            return (W) this;
+        } finally {
+            recordAction("jsClick", start);
+        }
     }
 
     /**
@@ -517,9 +1006,14 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W clickOnElementUsingJavaScript(WebElement element) {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", element);
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].click();", element);
+            return (W) this;
+        } finally {
+            recordAction("jsClick", start);
+        }
     }
 
     /**
@@ -530,9 +1024,14 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W doubleClickOnElement(WebElement webElement) {
-        Actions actionBuilder = new Actions(driver);
-        actionBuilder.moveToElement(webElement).doubleClick().build().perform();
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            Actions actionBuilder = new Actions(driver);
+            actionBuilder.moveToElement(webElement).doubleClick().build().perform();
+            return (W) this;
+        } finally {
+            recordAction("doubleClick", start);
+        }
     }
 
     /**
@@ -543,9 +1042,14 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W rightClickOnElement(WebElement webElement) {
-        Actions actionBuilder = new Actions(driver);
-        actionBuilder.moveToElement(webElement).contextClick().build().perform();
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            Actions actionBuilder = new Actions(driver);
+            actionBuilder.moveToElement(webElement).contextClick().build().perform();
+            return (W) this;
+        } finally {
+            recordAction("rightClick", start);
+        }
     }
 
     /**
@@ -557,9 +1061,14 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W dragAndDropElement(WebElement webElementSource, WebElement webElementTarget) {
-        Actions actionBuilder = new Actions(driver);
-        actionBuilder.dragAndDrop(webElementSource, webElementTarget).build().perform();
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            Actions actionBuilder = new Actions(driver);
+            actionBuilder.dragAndDrop(webElementSource, webElementTarget).build().perform();
+            return (W) this;
+        } finally {
+            recordAction("dragAndDrop", start);
+        }
     }
 
     /**
@@ -570,9 +1079,14 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W hoverOnElement(WebElement webElement) {
-        Actions actionBuilder = new Actions(driver);
-        actionBuilder.moveToElement(webElement).build().perform();
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            Actions actionBuilder = new Actions(driver);
+            actionBuilder.moveToElement(webElement).build().perform();
+            return (W) this;
+        } finally {
+            recordAction("hover", start);
+        }
     }
 
     /**
@@ -619,7 +1133,7 @@ public class BasePage<W extends BasePage> {
      * @return displayed text of an element
      */
     public String getElementText(String locatorNameFromProperty, LocatorType locatorType) {
-        return getElementText(getElement(locatorNameFromProperty, locatorType));
+        return withElement(locatorNameFromProperty, "", locatorType, this::getElementText);
     }
 
     /**
@@ -632,7 +1146,29 @@ public class BasePage<W extends BasePage> {
      */
     public String getElementText(String locatorNameFromProperty, String changeablePartInLocator,
                                  LocatorType locatorType) {
-        return getElementText(getElement(locatorNameFromProperty, changeablePartInLocator, locatorType));
+        return withElement(locatorNameFromProperty, changeablePartInLocator, locatorType, this::getElementText);
+    }
+
+    /**
+     * Apply an action to an element, resolving the element again once if it went stale in between,
+     * e.g. because the page re-rendered it.
+     */
+    private <T> T withElement(String locatorNameFromProperty, String changeablePartInLocator,
+                              LocatorType locatorType, Function<WebElement, T> action) {
+        try {
+            return action.apply(getElement(locatorNameFromProperty, changeablePartInLocator, locatorType));
+        } catch (StaleElementReferenceException e) {
+            invalidateElementCache();
+            return action.apply(getElement(locatorNameFromProperty, changeablePartInLocator, locatorType));
+        }
+    }
+
+    /**
+     * Forget the elements resolved so far, e.g. after an action that replaced the document.
+     * Navigation methods of this class do it themselves.
+     */
+    public void invalidateElementCache() {
+        elementCache.clear();
     }
 
     /**
@@ -701,18 +1237,23 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W fillTextFieldUsingJavaScript(WebElement txtField, String value) {
-        new Actions(driver).moveToElement(txtField).click().perform();
+        long start = ActionMetrics.start();
+        try {
+            new Actions(driver).moveToElement(txtField).click().perform();
 
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].value = arguments[1];", txtField, "");
-        js.executeScript("arguments[0].value = arguments[1];", txtField, value);
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].value = arguments[1];", txtField, "");
+            js.executeScript("arguments[0].value = arguments[1];", txtField, value);
 
-        try {
-            wait.until(localDriver -> txtField.getAttribute("value").length() != 0);
-        } catch (NullPointerException ex) {
-            logger.error("returns null for value attribute.", ex);
+            try {
+                wait.until(localDriver -> txtField.getAttribute("value").length() != 0);
+            } catch (NullPointerException ex) {
+                logger.error("returns null for value attribute.", ex);
+            }
+            return (W) this;
+        } finally {
+            recordAction("jsFill", start);
         }
-        return (W) this;
     }
 
     /**
@@ -724,20 +1265,25 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W fillTextField(WebElement aTxtField, String aTextToWrite) {
-        pause("wait for the field to be editable", 500);
-        if (aTxtField.isDisplayed() && aTxtField.isEnabled() && aTextToWrite.length() > 0) {
-            aTxtField.clear();
-            wait.until(ExpectedConditions.visibilityOf(aTxtField));
-
-            aTxtField.sendKeys(aTextToWrite);
-
-            try {
-                wait.until(localDriver -> aTxtField.getAttribute("value").length() == aTextToWrite.length());
-            } catch (NullPointerException ex) {
-                logger.error("Tiny MCE returns null for value attribute.", ex);
+        long start = ActionMetrics.start();
+        try {
+            waitForEditable(aTxtField);
+            if (aTxtField.isDisplayed() && aTxtField.isEnabled() && aTextToWrite.length() > 0) {
+                aTxtField.clear();
+                wait.until(ExpectedConditions.visibilityOf(aTxtField));
+
+                aTxtField.sendKeys(aTextToWrite);
+
+                try {
+                    wait.until(localDriver -> aTxtField.getAttribute("value").length() == aTextToWrite.length());
+                } catch (NullPointerException ex) {
+                    logger.error("Tiny MCE returns null for value attribute.", ex);
+                }
             }
+            return (W) this;
+        } finally {
+            recordAction("fill", start);
         }
-        return (W) this;
     }
 
     /**
@@ -761,9 +1307,16 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W goToPage(URL pageUrl) {
-        driver.get(pageUrl.toString());
-        wait.until(ExpectedConditions.urlContains((pageUrl.toString())));
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            invalidateElementCache();
+            driver.get(pageUrl.toString());
+            wait.until(ExpectedConditions.urlContains((pageUrl.toString())));
+            capturePageTiming();
+            return (W) this;
+        } finally {
+            recordAction("navigate", start);
+        }
     }
 
     /**
@@ -775,9 +1328,16 @@ public class BasePage<W extends BasePage> {
      */
     @SuppressWarnings("unchecked")
     public W goToPage(URL pageUrl, String redirectUrl) {
-        driver.get(pageUrl.toString());
-        wait.until(ExpectedConditions.urlContains((redirectUrl)));
-        return (W) this;
+        long start = ActionMetrics.start();
+        try {
+            invalidateElementCache();
+            driver.get(pageUrl.toString());
+            wait.until(ExpectedConditions.urlContains((redirectUrl)));
+            capturePageTiming();
+            return (W) this;
+        } finally {
+            recordAction("navigate", start);
+        }
     }
 
     /**
@@ -786,8 +1346,11 @@ public class BasePage<W extends BasePage> {
      * @param pageUrl page url
      * @return page
      */
+    @SuppressWarnings("unchecked")
     public W getAPage(URL pageUrl) {
+        invalidateElementCache();
         driver.get(pageUrl.toString());
+        capturePageTiming();
         return (W) this;
     }
 
@@ -798,13 +1361,7 @@ public class BasePage<W extends BasePage> {
      * @return true if present
      */
     public boolean checkIfPresent(By by) {
-        try {
-            driver.findElement(by);
-            return true;
-        } catch (NoSuchElementException e) {
-            logger.error("Element not found " + by, e);
-            return false;
-        }
+        return !driver.findElements(by).isEmpty();
     }
 
     public String getCurrentUrl() {
@@ -831,6 +1388,7 @@ public class BasePage<W extends BasePage> {
      * @param waitForContainingUrl the string to wait for in url.
      * @return page object
      */
+    @SuppressWarnings("unchecked")
     public W switchToChildWindow(String waitForContainingUrl) {
         String topWindowHandle = null;
         Set<String> windowHandles = driver.getWindowHandles();
@@ -840,11 +1398,12 @@ public class BasePage<W extends BasePage> {
         }
 
         driver.switchTo().window(topWindowHandle);
+        invalidateElementCache();
         try {
-            pause("wait for handle", 1000); //Give some room to completely take over the handle of child window/tab.
             if (waitForContainingUrl.length() > 0) {
                 wait.until(ExpectedConditions.urlContains(waitForContainingUrl));
             }
+            waitForPageReady();
         } catch (Exception e) {
             logger.error("Window not found", e);
         }
@@ -858,14 +1417,14 @@ public class BasePage<W extends BasePage> {
      * @param timeOutInSec timeout value in seconds.
      */
     public void changeDefaultWait(Duration timeOutInSec) {
-        wait = new WebDriverWait(driver, timeOutInSec);
+        wait = newWait(timeOutInSec);
     }
 
     /**
      * Reset the wait to default time out.
      */
     public void resetDefaultWait() {
-        wait = new WebDriverWait(driver, WEB_DRIVER_TIMEOUT_IN_SECONDS);
+        wait = newWait(WEB_DRIVER_TIMEOUT_IN_SECONDS);
     }
 
 }
@@ -4,6 +4,7 @@ import org.openqa.selenium.WebDriver;
 
 public class HomePage extends BasePage {
 
+    static final String LOGO_CSS = "div.logo.logo";
 
     /**
      * Page initialization.
@@ -1,9 +1,14 @@
 package com.test.my.e2e.pages;
 
+import com.test.my.e2e.driver.SessionStateStore;
+import com.test.my.e2e.timing.ActionMetrics;
+import com.test.my.utils.CustomLogger;
 import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
 
 public class LoginPage extends BasePage {
 
+    private static final Logger logger = CustomLogger.getLogger(LoginPage.class);
     private static final String passwordId = "password";
     private static final String userNameId = "username";
     private static final String loginInId = "loginButton";
@@ -22,12 +27,86 @@ public class LoginPage extends BasePage {
      * @param password Password for the user
      */
     public HomePage login(String userName, String password) {
+        long start = ActionMetrics.start();
+        try {
+            submitLogin(userName, password);
+            getWebElement(HomePage.LOGO_CSS, LocatorType.CSS, PAGE_READY_TIMEOUT);
+            return new HomePage(driver);
+        } finally {
+            recordAction("login", start);
+        }
+    }
+
+    /**
+     * Submit the login form and continue, without waiting for the home page itself: a login started by an
+     * OAuth client ends on its redirect URL instead.
+     */
+    private void submitLogin(String userName, String password) {
         fillTextField(getElement(userNameId, LocatorType.ID), userName);
         fillTextField(getElement(passwordId, LocatorType.ID), password);
+        // the login document is complete and quiet until the browser actually leaves it
+        String loginUrl = driver.getCurrentUrl();
         clickOnElementUsingJavaScript(loginInId, LocatorType.ID);
+        waitForUrlChange(loginUrl);
+        waitForPageReady();
+        continueAfterLogin();
+    }
+
+    /**
+     * Log in with the session state saved for the user, if any, and through the form otherwise.
+     * The first form login of a user per run captures its state for the others; concurrent callers for
+     * the same user wait for that login instead of logging in themselves.
+     *
+     * @param userName User Name to login
+     * @param password Password for the user
+     */
+    public HomePage loginWithSavedSession(String userName, String password) {
+        long start = ActionMetrics.start();
+        try {
+            SessionStateStore store = SessionStateStore.getInstance();
+            long seen = store.capturedAt(userName);
+            if (seen != 0 && restoreSession(store, userName)) {
+                return new HomePage(driver);
+            }
+            synchronized (store.lockFor(userName)) {
+                // another test may have logged the user in while we waited
+                if (store.capturedAt(userName) > seen && restoreSession(store, userName)) {
+                    return new HomePage(driver);
+                }
+                submitLogin(userName, password);
+                store.capture(driver, userName);
+                return new HomePage(driver);
+            }
+        } finally {
+            recordAction("loginWithSavedSession", start);
+        }
+    }
+
+    private boolean restoreSession(SessionStateStore store, String userName) {
+        if (!store.inject(driver, userName, pageUrl)) {
+            return false;
+        }
+        invalidateElementCache();
+        waitForPageReady();
+        if (isElementPresent(userNameId, LocatorType.ID)) {
+            logger.info("Saved session of " + userName + " was not accepted, logging in through the form");
+            store.invalidate(userName);
+            return false;
+        }
+        if (isElementPresent(continueId, LocatorType.ID)) {
+            continueAfterLogin();
+        }
+        return true;
+    }
+
+    /**
+     * Click continue on the page shown after the login and wait for the page it leads to.
+     */
+    private void continueAfterLogin() {
+        String continueUrl = driver.getCurrentUrl();
         clickOnElementUsingJavaScript(continueId, LocatorType.ID);
-        pause("Waiting for Home Page to load.", 8000);
-        return new HomePage(driver);
+        waitForUrlChange(continueUrl);
+        waitForPageReady();
     }
 
 }
@@ -0,0 +1,206 @@
+package com.test.my.e2e.timing;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times UI actions (clicks, fills, element lookups, waits, pauses and page flows such as
+ * {@code LoginPage.login}) per page class and action, for the whole suite and for the test running on the
+ * current thread. Breakdowns are written as JSON and CSV under ACTION_METRICS_DIR (target/action-metrics):
+ * one pair per test by {@link #finishTest(String)} and one for the suite by {@link #writeSuite()}.
+ * Turned on with ACTION_METRICS=true; when off, instrumented code only reads a constant.
+ * Nested actions are recorded under their own keys too, so times of different keys overlap.
+ */
+public final class ActionMetrics {
+
+    private static final Logger logger = CustomLogger.getLogger(ActionMetrics.class);
+    private static final boolean ENABLED = PropertiesManager.getBoolean("ACTION_METRICS", false);
+    private static final Path DIRECTORY = Paths.get(PropertiesManager.loadProp("ACTION_METRICS_DIR",
+            "target/action-metrics"));
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final Map<String, Stats> SUITE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Stats>> TEST = new ThreadLocal<>();
+
+    private ActionMetrics() {
+        // keep this empty
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return start time to pass to {@link #record(String, String, long)}, 0 when disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record one action that started at the given time.
+     *
+     * @param page       page class, e.g. LoginPage
+     * @param action     action, e.g. click or login
+     * @param startNanos value returned by {@link #start()}
+     */
+    public static void record(String page, String action, long startNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        String key = page + "." + action;
+        SUITE.computeIfAbsent(key, Stats::new).add(micros);
+        Map<String, Stats> test = TEST.get();
+        if (test != null) {
+            test.computeIfAbsent(key, Stats::new).add(micros);
+        }
+    }
+
+    /**
+     * Start collecting the actions of a test running on the current thread.
+     */
+    public static void startTest() {
+        if (ENABLED) {
+            TEST.set(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Stop collecting the actions of the current thread's test and write its breakdown.
+     *
+     * @param testName test name, used as file name
+     */
+    public static void finishTest(String testName) {
+        Map<String, Stats> test = TEST.get();
+        TEST.remove();
+        if (test == null || test.isEmpty()) {
+            return;
+        }
+        try {
+            write(DIRECTORY.resolve("tests"), testName.replaceAll("[^A-Za-z0-9._-]", "_"), test);
+        } catch (IOException e) {
+            logger.warn("Could not write action metrics of " + testName, e);
+        }
+    }
+
+    /**
+     * Write the breakdown of the whole suite.
+     *
+     * @return path of the JSON file, null if disabled or nothing was recorded
+     */
+    public static Path writeSuite() {
+        if (!ENABLED || SUITE.isEmpty()) {
+            return null;
+        }
+        try {
+            return write(DIRECTORY, "suite", new TreeMap<>(SUITE));
+        } catch (IOException e) {
+            logger.warn("Could not write suite action metrics", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param limit maximum number of lines
+     * @return the actions with the most total time in the suite, one per line
+     */
+    public static String describe(int limit) {
+        List<Stats> sorted = new ArrayList<>(SUITE.values());
+        sorted.sort((a, b) -> Long.compare(b.totalMicros.sum(), a.totalMicros.sum()));
+        StringBuilder report = new StringBuilder("action metrics (count, total ms, p50 ms, p95 ms, max ms):");
+        for (Stats stats : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            report.append("\n  ").append(stats.key).append(": ").append(stats.count.sum())
+                    .append(", ").append(millis(stats.totalMicros.sum()))
+                    .append(", ").append(millis(stats.latencies.getValueAtPercentile(50)))
+                    .append(", ").append(millis(stats.latencies.getValueAtPercentile(95)))
+                    .append(", ").append(millis(stats.latencies.getMaxValue()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Drop every recorded action.
+     */
+    public static void reset() {
+        SUITE.clear();
+        TEST.remove();
+    }
+
+    private static Path write(Path directory, String name, Map<String, Stats> stats) throws IOException {
+        Files.createDirectories(directory);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Stats entry : stats.values()) {
+            rows.add(entry.toRow());
+        }
+        Path json = directory.resolve(name + ".json");
+        try (Writer writer = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            gson.toJson(rows, writer);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".csv")), false,
+                "UTF-8")) {
+            out.println("action,count,totalMs,meanMs,p50Ms,p95Ms,p99Ms,maxMs");
+            for (Map<String, Object> row : rows) {
+                out.println(String.join(",", row.values().stream().map(String::valueOf)
+                        .toArray(String[]::new)));
+            }
+        }
+        return json;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / MICROS_PER_MILLI * 100) / 100.0;
+    }
+
+    private static final class Stats {
+        private final String key;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 2);
+
+        private Stats(String key) {
+            this.key = key;
+        }
+
+        private void add(long micros) {
+            count.increment();
+            totalMicros.add(micros);
+            latencies.recordValue(Math.min(micros, latencies.getHighestTrackableValue()));
+        }
+
+        private Map<String, Object> toRow() {
+            long total = count.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("action", key);
+            row.put("count", total);
+            row.put("totalMs", millis(totalMicros.sum()));
+            row.put("meanMs", total == 0 ? 0.0 : millis(totalMicros.sum() / total));
+            row.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+            row.put("p95Ms", millis(latencies.getValueAtPercentile(95)));
+            row.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+            row.put("maxMs", millis(latencies.getMaxValue()));
+            return row;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.test.my.e2e.timing;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Load timing of one document, in millis since the navigation started.
+ */
+public final class PageTiming {
+
+    private final String page;
+    private final String url;
+    private final double ttfbMillis;
+    private final double domContentLoadedMillis;
+    private final double loadMillis;
+    private final List<Resource> largestResources;
+
+    PageTiming(String page, String url, double ttfbMillis, double domContentLoadedMillis, double loadMillis,
+               List<Resource> largestResources) {
+        this.page = page;
+        this.url = url;
+        this.ttfbMillis = ttfbMillis;
+        this.domContentLoadedMillis = domContentLoadedMillis;
+        this.loadMillis = loadMillis;
+        this.largestResources = Collections.unmodifiableList(largestResources);
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public double getTtfbMillis() {
+        return ttfbMillis;
+    }
+
+    public double getDomContentLoadedMillis() {
+        return domContentLoadedMillis;
+    }
+
+    public double getLoadMillis() {
+        return loadMillis;
+    }
+
+    public List<Resource> getLargestResources() {
+        return largestResources;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%s %s: ttfb=%.0fms domContentLoaded=%.0fms load=%.0fms",
+                page, url, ttfbMillis, domContentLoadedMillis, loadMillis));
+        for (Resource resource : largestResources) {
+            text.append("\n  ").append(resource);
+        }
+        return text.toString();
+    }
+
+    /**
+     * A resource the document loaded.
+     */
+    public static final class Resource {
+
+        private final String name;
+        private final long transferSize;
+        private final double durationMillis;
+
+        Resource(String name, long transferSize, double durationMillis) {
+            this.name = name;
+            this.transferSize = transferSize;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return bytes transferred, 0 for cached or cross origin resources without Timing-Allow-Origin
+         */
+        public long getTransferSize() {
+            return transferSize;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d bytes, %.0fms", name, transferSize, durationMillis);
+        }
+    }
+}
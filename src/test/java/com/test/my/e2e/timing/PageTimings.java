@@ -0,0 +1,182 @@
+package com.test.my.e2e.timing;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects Navigation Timing and Resource Timing of every document the pages load: time to first byte,
+ * DOMContentLoaded, load and the largest resources. Each capture is logged and attached to the running
+ * test (as the {@value #TEST_ATTRIBUTE} attribute and in the TestNG reporter output), and aggregated per
+ * page for {@link #describe()}.
+ * Configuration: PAGE_TIMING=false turns it off, PAGE_TIMING_RESOURCES (5) is the number of resources kept.
+ */
+public final class PageTimings {
+
+    /**
+     * Test result attribute holding the list of {@link PageTiming}s captured during the test.
+     */
+    public static final String TEST_ATTRIBUTE = "pageTimings";
+    private static final Logger logger = CustomLogger.getLogger(PageTimings.class);
+    private static final boolean ENABLED = PropertiesManager.getBoolean("PAGE_TIMING", true);
+    private static final int RESOURCES = PropertiesManager.getInt("PAGE_TIMING_RESOURCES", 5);
+    // Reports [url, responseStart, domContentLoadedEventEnd, loadEventEnd, [[name, transfer size, duration]]]
+    // for the current document, all in millis since navigation start, once per document and only after its
+    // load event: null if the document was already captured, is still loading or has no navigation entry.
+    private static final String TIMING_SCRIPT =
+            "if (window.__pageTimingCaptured || !window.performance || !performance.getEntriesByType) { return null; }"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!nav || !nav.loadEventEnd) { return null; }"
+            + "window.__pageTimingCaptured = true;"
+            + "var resources = performance.getEntriesByType('resource').map(function(r) {"
+            + "  return [r.name, r.transferSize || r.encodedBodySize || 0, r.duration];"
+            + "});"
+            + "resources.sort(function(a, b) { return b[1] - a[1] || b[2] - a[2]; });"
+            + "return [location.href, nav.responseStart, nav.domContentLoadedEventEnd, nav.loadEventEnd,"
+            + "    resources.slice(0, arguments[0])];";
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private PageTimings() {
+        // keep this empty
+    }
+
+    /**
+     * Capture the timing of the document the driver shows, unless it was captured already or has not
+     * finished loading (e.g. with the eager page load strategy, when a later call captures it).
+     *
+     * @param driver web driver
+     * @param page   name of the page object, e.g. its class
+     * @return the timing, null if disabled, already captured, still loading or not available
+     */
+    public static PageTiming capture(WebDriver driver, String page) {
+        if (!ENABLED || !(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        List<?> values;
+        try {
+            values = (List<?>) ((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT, RESOURCES);
+        } catch (WebDriverException e) {
+            logger.debug("No page timing for " + page, e);
+            return null;
+        }
+        if (values == null) {
+            return null;
+        }
+        List<PageTiming.Resource> resources = new ArrayList<>();
+        for (Object resource : (List<?>) values.get(4)) {
+            List<?> entry = (List<?>) resource;
+            resources.add(new PageTiming.Resource((String) entry.get(0), ((Number) entry.get(1)).longValue(),
+                    ((Number) entry.get(2)).doubleValue()));
+        }
+        String url = (String) values.get(0);
+        PageTiming timing = new PageTiming(page, url, ((Number) values.get(1)).doubleValue(),
+                ((Number) values.get(2)).doubleValue(), ((Number) values.get(3)).doubleValue(), resources);
+        STATS.computeIfAbsent(page + " " + path(url), Stats::new).add(timing);
+        attach(timing);
+        return timing;
+    }
+
+    /**
+     * Drop every recorded timing.
+     */
+    public static void reset() {
+        STATS.clear();
+    }
+
+    /**
+     * @return per page percentiles of time to first byte, DOMContentLoaded and load, one page per line
+     */
+    public static String describe() {
+        StringBuilder report = new StringBuilder("page timing (loads, ttfb / dom content loaded / load ms"
+                + " p50 p95 max):");
+        for (Stats stats : new TreeMap<>(STATS).values()) {
+            report.append("\n  ").append(stats.key).append(": ").append(stats.count.sum())
+                    .append(", ").append(percentiles(stats.ttfb))
+                    .append(" / ").append(percentiles(stats.domContentLoaded))
+                    .append(" / ").append(percentiles(stats.load));
+        }
+        return report.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void attach(PageTiming timing) {
+        logger.info(timing.toString());
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return; // not inside a test, e.g. a suite listener
+        }
+        Reporter.log(timing.toString());
+        synchronized (result) {
+            List<PageTiming> timings = (List<PageTiming>) result.getAttribute(TEST_ATTRIBUTE);
+            if (timings == null) {
+                timings = Collections.synchronizedList(new ArrayList<>());
+                result.setAttribute(TEST_ATTRIBUTE, timings);
+            }
+            timings.add(timing);
+        }
+    }
+
+    private static String path(String url) {
+        try {
+            URI uri = new URI(url);
+            return uri.getHost() == null ? url : uri.getHost() + uri.getPath();
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "-";
+        }
+        return histogram.getValueAtPercentile(50) + " " + histogram.getValueAtPercentile(95) + " "
+                + histogram.getMaxValue();
+    }
+
+    private static final class Stats {
+        private final String key;
+        private final LongAdder count = new LongAdder();
+        private final Histogram ttfb = newHistogram();
+        private final Histogram domContentLoaded = newHistogram();
+        private final Histogram load = newHistogram();
+
+        private Stats(String key) {
+            this.key = key;
+        }
+
+        private static Histogram newHistogram() {
+            return new ConcurrentHistogram(TimeUnit.MINUTES.toMillis(10), 3);
+        }
+
+        private void add(PageTiming timing) {
+            count.increment();
+            record(ttfb, timing.getTtfbMillis());
+            record(domContentLoaded, timing.getDomContentLoadedMillis());
+            record(load, timing.getLoadMillis());
+        }
+
+        private static void record(Histogram histogram, double millis) {
+            if (millis > 0) {
+                histogram.recordValue(Math.min(Math.round(millis), histogram.getHighestTrackableValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.test.my.e2e.wait;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * {@link WebDriverWait} whose interval between polls comes from a {@link PollingPolicy} instead of being
+ * fixed, and which reports the time and polls of every wait to {@link WaitTelemetry} under its label.
+ * Calling {@link #pollingEvery(Duration)} switches the wait to a fixed interval.
+ */
+public class AdaptiveWait extends WebDriverWait {
+
+    private static final Pattern SESSION_PREFIX = Pattern.compile("\\[\\[[^\\]]*\\] -> ");
+
+    private final WebDriver driver;
+    private final String label;
+    private PollingPolicy policy;
+    // assigned from the super constructor, so no initializers
+    private Duration timeout;
+    private Supplier<String> messageSupplier;
+    private List<Class<? extends Throwable>> ignoredExceptions;
+
+    /**
+     * Wait with the shared {@link PollingPolicy#DEFAULT} policy.
+     *
+     * @param driver  web driver
+     * @param timeout maximum time to wait
+     * @param label   telemetry label, e.g. the page class and what is awaited
+     */
+    public AdaptiveWait(WebDriver driver, Duration timeout, String label) {
+        this(driver, timeout, PollingPolicy.DEFAULT, label);
+    }
+
+    /**
+     * Wait with a given polling policy.
+     *
+     * @param driver  web driver
+     * @param timeout maximum time to wait
+     * @param policy  polling policy
+     * @param label   telemetry label, e.g. the page class and what is awaited
+     */
+    public AdaptiveWait(WebDriver driver, Duration timeout, PollingPolicy policy, String label) {
+        super(driver, timeout);
+        this.driver = driver;
+        this.policy = policy;
+        this.label = label;
+    }
+
+    @Override
+    public FluentWait<WebDriver> withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return super.withTimeout(timeout);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(String message) {
+        return withMessage(() -> message);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(Supplier<String> messageSupplier) {
+        this.messageSupplier = messageSupplier;
+        return super.withMessage(messageSupplier);
+    }
+
+    @Override
+    public FluentWait<WebDriver> pollingEvery(Duration interval) {
+        policy = PollingPolicy.fixed(interval);
+        return super.pollingEvery(interval);
+    }
+
+    @Override
+    public <K extends Throwable> FluentWait<WebDriver> ignoreAll(Collection<Class<? extends K>> types) {
+        if (ignoredExceptions == null) {
+            ignoredExceptions = new ArrayList<>();
+        }
+        ignoredExceptions.addAll(types);
+        return super.ignoreAll(types);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        long end = start + timeout.toNanos();
+        int polls = 0;
+        Throwable lastException = null;
+        while (true) {
+            polls++;
+            try {
+                V value = isTrue.apply(driver);
+                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                    WaitTelemetry.record(key(isTrue), System.nanoTime() - start, polls, false);
+                    return value;
+                }
+                lastException = null;
+            } catch (Throwable e) {
+                if (!isIgnored(e)) {
+                    WaitTelemetry.record(key(isTrue), System.nanoTime() - start, polls, false);
+                    throw e;
+                }
+                lastException = e;
+            }
+            long remaining = end - System.nanoTime();
+            if (remaining <= 0) {
+                WaitTelemetry.record(key(isTrue), System.nanoTime() - start, polls, true);
+                String message = messageSupplier == null ? null : messageSupplier.get();
+                throw timeoutException("Expected condition failed: " + (message == null ? "waiting for " + isTrue
+                        : message) + " (tried for " + timeout.toMillis() + "ms with " + polls
+                        + " polls)", lastException);
+            }
+            try {
+                Thread.sleep(Math.max(1, Math.min(policy.nextInterval(polls).toMillis(), remaining / 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(e);
+            }
+        }
+    }
+
+    private boolean isIgnored(Throwable e) {
+        if (ignoredExceptions != null) {
+            for (Class<? extends Throwable> type : ignoredExceptions) {
+                if (type.isInstance(e)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String key(Function<?, ?> condition) {
+        if (!(condition instanceof ExpectedCondition)) {
+            return label; // lambdas do not describe themselves
+        }
+        // drop the session part of element descriptions, keeping the locator
+        return label + " " + SESSION_PREFIX.matcher(String.valueOf(condition)).replaceAll("[");
+    }
+}
@@ -0,0 +1,52 @@
+package com.test.my.e2e.wait;
+
+import com.test.my.utils.PropertiesManager;
+
+import java.time.Duration;
+
+/**
+ * How long an {@link AdaptiveWait} sleeps between polls.
+ */
+@FunctionalInterface
+public interface PollingPolicy {
+
+    /**
+     * Shared default: exponential backoff from WAIT_POLL_INITIAL (50ms) by WAIT_POLL_MULTIPLIER (1.5)
+     * up to WAIT_POLL_MAX (250ms), so quick conditions are seen quickly and slow ones do not flood the driver.
+     */
+    PollingPolicy DEFAULT = backoff(
+            PropertiesManager.getDuration("WAIT_POLL_INITIAL", Duration.ofMillis(50)),
+            Double.parseDouble(PropertiesManager.loadProp("WAIT_POLL_MULTIPLIER", "1.5")),
+            PropertiesManager.getDuration("WAIT_POLL_MAX", Duration.ofMillis(250)));
+
+    /**
+     * Interval to sleep after a failed poll.
+     *
+     * @param polls number of polls done so far, starting at 1
+     * @return interval before the next poll
+     */
+    Duration nextInterval(int polls);
+
+    /**
+     * @param interval interval between polls
+     * @return policy polling at a fixed interval
+     */
+    static PollingPolicy fixed(Duration interval) {
+        return polls -> interval;
+    }
+
+    /**
+     * @param initial    interval after the first poll
+     * @param multiplier growth of the interval per poll
+     * @param max        cap of the interval
+     * @return policy backing off exponentially up to a cap
+     */
+    static PollingPolicy backoff(Duration initial, double multiplier, Duration max) {
+        long initialNanos = initial.toNanos();
+        long maxNanos = max.toNanos();
+        return polls -> {
+            double nanos = initialNanos * Math.pow(multiplier, Math.max(0, polls - 1));
+            return Duration.ofNanos(nanos >= maxNanos ? maxNanos : (long) nanos);
+        };
+    }
+}
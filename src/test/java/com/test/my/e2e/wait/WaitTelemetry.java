@@ -0,0 +1,102 @@
+package com.test.my.e2e.wait;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long every {@link AdaptiveWait} took and how many polls it needed, aggregated per
+ * page and condition. Turned off with WAIT_TELEMETRY=false.
+ */
+public final class WaitTelemetry {
+
+    private static final Logger logger = CustomLogger.getLogger(WaitTelemetry.class);
+    private static final boolean ENABLED = PropertiesManager.getBoolean("WAIT_TELEMETRY", true);
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private WaitTelemetry() {
+        // keep this empty
+    }
+
+    /**
+     * Record one wait.
+     *
+     * @param key          page and condition
+     * @param elapsedNanos time spent in the wait
+     * @param polls        number of times the condition was evaluated
+     * @param timedOut     true if the wait timed out
+     */
+    public static void record(String key, long elapsedNanos, int polls, boolean timedOut) {
+        if (!ENABLED) {
+            return;
+        }
+        STATS.computeIfAbsent(key, Stats::new).add(elapsedNanos, polls, timedOut);
+        if (logger.isDebugEnabled()) {
+            logger.debug("wait " + key + ": " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms, "
+                    + polls + " polls" + (timedOut ? ", timed out" : ""));
+        }
+    }
+
+    /**
+     * Drop every recorded wait.
+     */
+    public static void reset() {
+        STATS.clear();
+    }
+
+    /**
+     * @param limit maximum number of lines
+     * @return the waits with the most total time spent, one per line
+     */
+    public static String describe(int limit) {
+        List<Stats> sorted = new ArrayList<>(STATS.values());
+        sorted.sort(Comparator.comparingLong((Stats stats) -> stats.totalNanos.sum()).reversed());
+        StringBuilder report = new StringBuilder("wait telemetry (count, total ms, mean ms, max ms, mean polls,"
+                + " timeouts):");
+        for (Stats stats : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            long count = stats.count.sum();
+            if (count == 0) {
+                continue;
+            }
+            report.append("\n  ").append(stats.key).append(": ").append(count)
+                    .append(", ").append(TimeUnit.NANOSECONDS.toMillis(stats.totalNanos.sum()))
+                    .append(", ").append(TimeUnit.NANOSECONDS.toMillis(stats.totalNanos.sum() / count))
+                    .append(", ").append(TimeUnit.NANOSECONDS.toMillis(stats.maxNanos.get()))
+                    .append(", ").append(String.format("%.1f", (double) stats.polls.sum() / count))
+                    .append(", ").append(stats.timeouts.sum());
+        }
+        return report.toString();
+    }
+
+    private static final class Stats {
+        private final String key;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private Stats(String key) {
+            this.key = key;
+        }
+
+        private void add(long elapsedNanos, int pollCount, boolean timedOut) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            polls.add(pollCount);
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+    }
+}
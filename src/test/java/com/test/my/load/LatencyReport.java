@@ -0,0 +1,118 @@
+package com.test.my.load;
+
+import com.test.my.utils.CountingAsyncQueueFullPolicy;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects scenario latencies in an HDR histogram together with per status code request counts.
+ * Doubles as the RestAssured filter that observes the status codes.
+ */
+public class LatencyReport implements Filter {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Map<String, LongAdder> failureTypes = new ConcurrentHashMap<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        requests.increment();
+        statusCounts.computeIfAbsent(response.getStatusCode(), status -> new LongAdder()).increment();
+        return response;
+    }
+
+    /**
+     * Record one scenario iteration.
+     *
+     * @param latencyNanos time from the intended start of the iteration to its completion
+     * @param failure      what the iteration threw, or null if it passed
+     */
+    public void record(long latencyNanos, Throwable failure) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        iterations.increment();
+        if (failure != null) {
+            failures.increment();
+            failureTypes.computeIfAbsent(failure.getClass().getSimpleName(), type -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Write the report.
+     *
+     * @param out            where to print
+     * @param scenario       scenario name
+     * @param elapsedSeconds wall clock duration of the run
+     */
+    public void print(PrintStream out, String scenario, double elapsedSeconds) {
+        long total = iterations.sum();
+        long requestTotal = requests.sum();
+        out.printf("Load report for %s%n", scenario);
+        out.printf("iterations: %d in %.1f s (%.1f/s), failed: %d (%.2f%%)%n", total, elapsedSeconds,
+                total / elapsedSeconds, failures.sum(), percent(failures.sum(), total));
+        out.printf("latency ms: p50=%.2f p95=%.2f p99=%.2f p99.9=%.2f max=%.2f mean=%.2f%n",
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(95)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()), latencies.getMean() / MICROS_PER_MILLI);
+        out.printf("requests: %d%n", requestTotal);
+        for (Map.Entry<Integer, LongAdder> status : new TreeMap<>(statusCounts).entrySet()) {
+            out.printf("  status %d: %d (%.2f%%)%n", status.getKey(), status.getValue().sum(),
+                    percent(status.getValue().sum(), requestTotal));
+        }
+        for (Map.Entry<String, LongAdder> failure : new TreeMap<>(failureTypes).entrySet()) {
+            out.printf("  failure %s: %d%n", failure.getKey(), failure.getValue().sum());
+        }
+        out.printf("%s%n", CountingAsyncQueueFullPolicy.describe());
+    }
+
+    /**
+     * Write the text summary and the full percentile distribution (.hgrm) into a directory.
+     *
+     * @param directory      report directory
+     * @param scenario       scenario name
+     * @param elapsedSeconds wall clock duration of the run
+     * @return path of the text summary
+     * @throws IOException if the files cannot be written
+     */
+    public Path write(Path directory, String scenario, double elapsedSeconds) throws IOException {
+        Files.createDirectories(directory);
+        Path summary = directory.resolve(scenario + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(summary), false, "UTF-8")) {
+            print(out, scenario, elapsedSeconds);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario + ".hgrm")),
+                false, "UTF-8")) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+}
@@ -0,0 +1,114 @@
+package com.test.my.load;
+
+import com.test.my.utils.CustomLogger;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open model load generator. Iterations of a {@link LoadScenario} are started at the target rate,
+ * linearly ramped up, and executed on a worker pool. Latency is measured from the intended start of an
+ * iteration, so queueing behind busy workers shows up in the report instead of lowering the rate.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = CustomLogger.getLogger(LoadGenerator.class);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadScenario scenario;
+    private final double targetRps;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final int workers;
+
+    /**
+     * Load generator constructor.
+     *
+     * @param scenario   scenario to run
+     * @param targetRps  iterations started per second once ramped up
+     * @param rampUp     time to reach the target rate, included in the duration
+     * @param duration   total time during which iterations are started
+     * @param workers    number of worker threads
+     */
+    public LoadGenerator(LoadScenario scenario, double targetRps, Duration rampUp, Duration duration, int workers) {
+        if (targetRps <= 0) {
+            throw new IllegalArgumentException("target rps must be positive");
+        }
+        this.scenario = scenario;
+        this.targetRps = targetRps;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.workers = workers;
+    }
+
+    /**
+     * Run the load and wait for in-flight iterations to finish.
+     *
+     * @return the collected report
+     * @throws InterruptedException if interrupted while generating load
+     */
+    public LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "load-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        List<Filter> previousFilters = new ArrayList<>(RestAssured.filters());
+        RestAssured.filters(report);
+        logger.info("Starting load: scenario=" + scenario.getName() + " " + scenario.getTestMethods().size()
+                + " methods, rps=" + targetRps + ", rampUp=" + rampUp + ", duration=" + duration
+                + ", workers=" + workers);
+        try {
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            long rampNanos = rampUp.toNanos();
+            double minRps = Math.min(1.0, targetRps);
+            long next = start;
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                while (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    wait = next - System.nanoTime();
+                }
+                long intendedStart = next;
+                pool.execute(() -> {
+                    Throwable failure = null;
+                    try {
+                        scenario.runNext();
+                    } catch (Throwable t) {
+                        failure = t;
+                    }
+                    report.record(System.nanoTime() - intendedStart, failure);
+                });
+                long elapsed = next - start;
+                double rps = elapsed < rampNanos ? Math.max(targetRps * elapsed / rampNanos, minRps) : targetRps;
+                next += (long) (NANOS_PER_SECOND / rps);
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Load workers still busy after one minute, " + pool.getQueue().size()
+                        + " iterations never started");
+                pool.shutdownNow();
+            }
+            return report;
+        } finally {
+            pool.shutdownNow();
+            RestAssured.replaceFiltersWith(previousFilters);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.test.my.load;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the {@code @Test} methods of an existing API test class, round robin, including its
+ * {@code @BeforeMethod} and {@code @AfterMethod} configuration, so functional scenarios double as load.
+ */
+public class LoadScenario {
+
+    private final Class<?> scenarioClass;
+    private final List<Method> testMethods = new ArrayList<>();
+    private final List<Method> beforeMethods = new ArrayList<>();
+    private final List<Method> afterMethods = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadLocal<Object> instance;
+
+    /**
+     * Create a scenario from a test class name, e.g. com.test.my.sample.TestGetSampleApi.
+     *
+     * @param className fully qualified name of the test class
+     * @throws ClassNotFoundException if the class does not exist
+     */
+    public LoadScenario(String className) throws ClassNotFoundException {
+        this.scenarioClass = Class.forName(className);
+        for (Method method : scenarioClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class) && method.getParameterCount() == 0
+                    && !Modifier.isStatic(method.getModifiers())) {
+                testMethods.add(method);
+            } else if (method.isAnnotationPresent(BeforeMethod.class)) {
+                beforeMethods.add(method);
+            } else if (method.isAnnotationPresent(AfterMethod.class)) {
+                afterMethods.add(method);
+            }
+        }
+        if (testMethods.isEmpty()) {
+            throw new IllegalArgumentException(className + " has no public @Test methods without parameters");
+        }
+        testMethods.sort(Comparator.comparing(Method::getName));
+        // test classes are not thread-safe, every worker gets its own instance
+        this.instance = ThreadLocal.withInitial(this::newInstance);
+    }
+
+    public String getName() {
+        return scenarioClass.getSimpleName();
+    }
+
+    public List<Method> getTestMethods() {
+        return testMethods;
+    }
+
+    /**
+     * Run the next test method of the scenario on the calling thread.
+     *
+     * @throws Throwable whatever the test method threw, e.g. an assertion error
+     */
+    public void runNext() throws Throwable {
+        Method test = testMethods.get((int) (sequence.getAndIncrement() % testMethods.size()));
+        Object target = instance.get();
+        for (Method before : beforeMethods) {
+            invoke(before, target, test);
+        }
+        try {
+            invoke(test, target, test);
+        } finally {
+            for (Method after : afterMethods) {
+                invoke(after, target, test);
+            }
+        }
+    }
+
+    private Object newInstance() {
+        try {
+            return scenarioClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate " + scenarioClass.getName(), e);
+        }
+    }
+
+    private static void invoke(Method method, Object target, Method test) throws Throwable {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == Method.class) {
+                args[i] = test;
+            }
+        }
+        try {
+            method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.test.my.load;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.slf4j.Logger;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Entry point of the load profile, e.g.
+ * {@code mvn clean test -Dsuite=load -DLOAD_SCENARIO=com.test.my.sample.TestGetSampleApi -DLOAD_RPS=50}.
+ * Configuration:
+ * <ul>
+ *     <li>LOAD_SCENARIO - test class whose {@code @Test} methods are replayed</li>
+ *     <li>LOAD_RPS - target iterations per second, defaults to 10</li>
+ *     <li>LOAD_RAMP_UP_SECONDS - ramp-up time, defaults to 10</li>
+ *     <li>LOAD_DURATION_SECONDS - total duration including ramp-up, defaults to 60</li>
+ *     <li>LOAD_WORKERS - worker threads, defaults to 50</li>
+ * </ul>
+ * The report is logged and written to target/load-report.
+ */
+public class LoadTest {
+
+    private static final Logger logger = CustomLogger.getLogger(LoadTest.class);
+
+    @Test(description = "Drive an API test scenario as load and report latency percentiles")
+    public void runLoad() throws Exception {
+        String scenarioClass = PropertiesManager.loadProp("LOAD_SCENARIO");
+        if (scenarioClass == null || scenarioClass.isBlank()) {
+            throw new SkipException("LOAD_SCENARIO is not set, skipping load generation");
+        }
+        LoadScenario scenario = new LoadScenario(scenarioClass);
+        LoadGenerator generator = new LoadGenerator(scenario,
+                Double.parseDouble(PropertiesManager.loadProp("LOAD_RPS", "10")),
+                Duration.ofSeconds(PropertiesManager.getLong("LOAD_RAMP_UP_SECONDS", 10)),
+                Duration.ofSeconds(PropertiesManager.getLong("LOAD_DURATION_SECONDS", 60)),
+                PropertiesManager.getInt("LOAD_WORKERS", 50));
+
+        long start = System.nanoTime();
+        LatencyReport report = generator.run();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        report.print(new PrintStream(summary, true, "UTF-8"), scenario.getName(), elapsedSeconds);
+        logger.info(summary.toString(StandardCharsets.UTF_8));
+        Path file = report.write(Paths.get("target", "load-report"), scenario.getName(), elapsedSeconds);
+        logger.info("Load report written to " + file.toAbsolutePath());
+    }
+}
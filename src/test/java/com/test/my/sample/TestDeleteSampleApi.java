@@ -8,9 +8,9 @@ public class TestDeleteSampleApi extends ApiBase {
 
     @Test
     public void DeleteUserTest() {
-        requestSpecification.
+        requestSpecification().
         when().
-            delete("https://reqres.in/api/users/111").
+            delete(apiUrl("users/111")).
         then().
             statusCode(204);
     }
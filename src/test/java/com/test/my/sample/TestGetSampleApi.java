@@ -1,13 +1,26 @@
 package com.test.my.sample;
 
+import static com.test.my.utils.StreamingJsonMatcher.jsonPaths;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 
 import com.test.my.ApiBase;
+import com.test.my.utils.StreamingJson;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import org.testng.annotations.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 public class TestGetSampleApi extends ApiBase {
 
     @Test(description = "Test list of users")
@@ -15,12 +28,13 @@ public class TestGetSampleApi extends ApiBase {
         given().
             header("Contetnt-Type", "application/json").
         when().
-            get("https://reqres.in/api/users?page=2").
+            get(apiUrl("users?page=2")).
         then().
             statusCode(200).
             statusLine("HTTP/1.1 200 OK").
-            body("data.id[1]", equalTo(8)).
-            body("data.first_name", hasItems("Tobias", "Michael")).
+            body(jsonPaths().
+                path("data.id[1]", equalTo(8)).
+                path("data.first_name", hasItems("Tobias", "Michael"))).
         log().all();
     }
 
@@ -29,10 +43,31 @@ public class TestGetSampleApi extends ApiBase {
         given().
             header("Contetnt-Type", "application/json").
         when().
-            get("https://reqres.in/api/users/2").
+            get(apiUrl("users/2")).
         then().
             statusCode(200).
-            body("data.id", equalTo(2)).
+            body(jsonPaths().
+                path("data.id", equalTo(2))).
         log().all();
     }
+
+    @Test(description = "Fetch every page of users concurrently")
+    public void getAllUserPagesTest() {
+        List<Function<RequestSpecification, Response>> pages = IntStream.rangeClosed(1, 2)
+                .<Function<RequestSpecification, Response>>mapToObj(page -> spec -> spec.
+                    queryParam("page", page).
+                when().
+                    get(apiUrl("users")))
+                .collect(Collectors.toList());
+
+        List<Integer> ids = new ArrayList<>();
+        for (Response response : sendAll(pages)) {
+            response.then().statusCode(200);
+            @SuppressWarnings("unchecked")
+            List<Integer> pageIds = (List<Integer>) StreamingJson.read(response.asString(), "data.id").get("data.id");
+            ids.addAll(pageIds);
+        }
+        assertEquals(ids.size(), 12);
+        assertTrue(ids.containsAll(Arrays.asList(1, 8, 12)));
+    }
 }
@@ -15,10 +15,10 @@ public class TestPatchSampleApi extends ApiBase {
         request.put("name", "Ash");
         request.put("job", "Director");
 
-        requestSpecification.
+        requestSpecification().
             body(request.toString()).
         when().
-            patch("https://reqres.in/api/users/111").
+            patch(apiUrl("users/111")).
         then().
             statusCode(200);
     }
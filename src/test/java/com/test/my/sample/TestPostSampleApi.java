@@ -19,7 +19,7 @@ public class TestPostSampleApi extends ApiBase {
         given().
             body(request.toString()).
         when().
-            post("https://reqres.in/api/users").
+            post(apiUrl("users")).
         then().
             statusCode(201);
     }
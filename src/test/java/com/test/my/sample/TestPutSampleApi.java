@@ -16,10 +16,10 @@ public class TestPutSampleApi extends ApiBase {
         request.put("name", "Ash");
         request.put("job", "Director");
 
-        requestSpecification.
+        requestSpecification().
             body(request.toString()).
         when().
-            put("https://reqres.in/api/users/111").
+            put(apiUrl("users/111")).
         then().
             statusCode(200);
     }
@@ -0,0 +1,106 @@
+package com.test.my.standin;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency distribution applied by the {@link StandInServer} before answering a request.
+ */
+public abstract class LatencyModel {
+
+    /**
+     * Parse a latency specification, all values in milliseconds.
+     * <ul>
+     *     <li>{@code none}</li>
+     *     <li>{@code fixed:50}</li>
+     *     <li>{@code uniform:10-100}</li>
+     *     <li>{@code normal:50,10} mean and standard deviation</li>
+     *     <li>{@code exponential:30} mean</li>
+     * </ul>
+     *
+     * @param spec latency specification, blank means none
+     * @return latency model
+     */
+    public static LatencyModel parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equalsIgnoreCase("none")) {
+            return fixed(0);
+        }
+        String[] parts = spec.trim().split(":", 2);
+        String type = parts[0].toLowerCase();
+        String args = parts.length > 1 ? parts[1] : "";
+        switch (type) {
+            case "fixed":
+                return fixed(Double.parseDouble(args));
+            case "uniform":
+                String[] range = args.split("-");
+                return uniform(Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+            case "normal":
+                String[] normal = args.split(",");
+                return normal(Double.parseDouble(normal[0]), Double.parseDouble(normal[1]));
+            case "exponential":
+                return exponential(Double.parseDouble(args));
+            default:
+                throw new IllegalArgumentException("Unknown latency model: " + spec);
+        }
+    }
+
+    public static LatencyModel fixed(double millis) {
+        return new LatencyModel("fixed:" + millis) {
+            @Override
+            double nextMillis(ThreadLocalRandom random) {
+                return millis;
+            }
+        };
+    }
+
+    public static LatencyModel uniform(double minMillis, double maxMillis) {
+        return new LatencyModel("uniform:" + minMillis + "-" + maxMillis) {
+            @Override
+            double nextMillis(ThreadLocalRandom random) {
+                return minMillis + random.nextDouble() * (maxMillis - minMillis);
+            }
+        };
+    }
+
+    public static LatencyModel normal(double meanMillis, double stdDevMillis) {
+        return new LatencyModel("normal:" + meanMillis + "," + stdDevMillis) {
+            @Override
+            double nextMillis(ThreadLocalRandom random) {
+                return meanMillis + random.nextGaussian() * stdDevMillis;
+            }
+        };
+    }
+
+    public static LatencyModel exponential(double meanMillis) {
+        return new LatencyModel("exponential:" + meanMillis) {
+            @Override
+            double nextMillis(ThreadLocalRandom random) {
+                return -meanMillis * Math.log(1 - random.nextDouble());
+            }
+        };
+    }
+
+    private final String description;
+
+    private LatencyModel(String description) {
+        this.description = description;
+    }
+
+    abstract double nextMillis(ThreadLocalRandom random);
+
+    /**
+     * Sleep for the next sampled latency.
+     *
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    public void sleep() throws InterruptedException {
+        long nanos = (long) (nextMillis(ThreadLocalRandom.current()) * 1_000_000);
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
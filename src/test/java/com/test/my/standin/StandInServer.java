@@ -0,0 +1,287 @@
+package com.test.my.standin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.test.my.utils.CustomLogger;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the reqres.in {@code /api/users} endpoints used by the sample tests.
+ * Responses have the same shape as the real service. Latency and error responses can be injected
+ * so that benchmark runs are offline and repeatable.
+ */
+public class StandInServer {
+
+    /**
+     * Request header forcing the status of a single response, e.g. {@code X-Stand-In-Status: 401}.
+     */
+    public static final String STATUS_HEADER = "X-Stand-In-Status";
+
+    private static final Logger logger = CustomLogger.getLogger(StandInServer.class);
+    private static final List<Integer> INJECTABLE_STATUSES = Arrays.asList(400, 401, 403, 404, 405, 500);
+    private static final Pattern USER_PATH = Pattern.compile("^/api/users/([^/]+)/?$");
+    private static final Pattern PAGE_PARAM = Pattern.compile("(?:^|&)page=(\\d+)");
+    private static final int PER_PAGE = 6;
+    private static final String[][] USERS = {
+            {"George", "Bluth"}, {"Janet", "Weaver"}, {"Emma", "Wong"}, {"Eve", "Holt"},
+            {"Charles", "Morris"}, {"Tracey", "Ramos"}, {"Michael", "Lawson"}, {"Lindsay", "Ferguson"},
+            {"Tobias", "Funke"}, {"Byron", "Fields"}, {"George", "Edwards"}, {"Rachel", "Howell"}
+    };
+
+    static {
+        // without TCP_NODELAY the separate header and body writes hit delayed ACKs, ~40 ms per response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Gson gson = new Gson();
+    private final LatencyModel latency;
+    private final Map<Integer, Double> faultRates;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Create the stand-in, it is not listening until {@link #start()} is called.
+     *
+     * @param port        port to bind, 0 for any free port
+     * @param latency     latency added to every response
+     * @param faultRates  probability of answering with a given error status, keyed by status
+     * @param threads     number of worker threads serving requests
+     * @throws IOException if the port cannot be bound
+     */
+    public StandInServer(int port, LatencyModel latency, Map<Integer, Double> faultRates, int threads)
+            throws IOException {
+        this.latency = latency;
+        this.faultRates = faultRates;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stand-in-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/users", this::handleUsers);
+        server.createContext("/", exchange -> send(exchange, 404, "{}"));
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Stand-in server listening on " + getBaseUrl() + " with latency " + latency
+                + " and faults " + faultRates);
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return base url to use as BASE_URL, e.g. http://localhost:54321/api/
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/";
+    }
+
+    /**
+     * Parse fault rates such as {@code 500:0.01,401:0.005}.
+     *
+     * @param spec the fault specification, may be blank
+     * @return probability per status
+     */
+    public static Map<Integer, Double> parseFaults(String spec) {
+        Map<Integer, Double> faults = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return faults;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int status = Integer.parseInt(parts[0].trim());
+            if (!INJECTABLE_STATUSES.contains(status)) {
+                throw new IllegalArgumentException("Status " + status + " cannot be injected, use one of "
+                        + INJECTABLE_STATUSES);
+            }
+            faults.put(status, Double.parseDouble(parts[1].trim()));
+        }
+        return faults;
+    }
+
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        try {
+            latency.sleep();
+            Integer injected = injectedStatus(exchange);
+            if (injected != null) {
+                send(exchange, injected, "{\"error\":\"stand-in injected " + injected + "\"}");
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Matcher userPath = USER_PATH.matcher(path);
+            if (userPath.matches()) {
+                handleUser(exchange, method, userPath.group(1));
+            } else if (path.equals("/api/users") || path.equals("/api/users/")) {
+                handleUserList(exchange, method);
+            } else {
+                send(exchange, 404, "{}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 500, "{}");
+        } catch (RuntimeException e) {
+            logger.error("Stand-in failed to serve " + exchange.getRequestURI(), e);
+            send(exchange, 500, "{}");
+        }
+    }
+
+    private void handleUserList(HttpExchange exchange, String method) throws IOException {
+        switch (method) {
+            case "GET":
+                int page = 1;
+                String query = exchange.getRequestURI().getRawQuery();
+                if (query != null) {
+                    Matcher matcher = PAGE_PARAM.matcher(query);
+                    if (matcher.find()) {
+                        page = Integer.parseInt(matcher.group(1));
+                    }
+                }
+                send(exchange, 200, gson.toJson(userPage(page)));
+                break;
+            case "POST":
+                JsonObject created = readBody(exchange);
+                created.addProperty("id", String.valueOf(ThreadLocalRandom.current().nextInt(1, 1000)));
+                created.addProperty("createdAt", Instant.now().toString());
+                send(exchange, 201, gson.toJson(created));
+                break;
+            default:
+                send(exchange, 405, "{}");
+                break;
+        }
+    }
+
+    private void handleUser(HttpExchange exchange, String method, String id) throws IOException {
+        switch (method) {
+            case "GET":
+                int userId = parseId(id);
+                if (userId < 1 || userId > USERS.length) {
+                    send(exchange, 404, "{}");
+                    return;
+                }
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("data", user(userId));
+                body.put("support", support());
+                send(exchange, 200, gson.toJson(body));
+                break;
+            case "PUT":
+            case "PATCH":
+                JsonObject updated = readBody(exchange);
+                updated.addProperty("updatedAt", Instant.now().toString());
+                send(exchange, 200, gson.toJson(updated));
+                break;
+            case "DELETE":
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                break;
+            default:
+                send(exchange, 405, "{}");
+                break;
+        }
+    }
+
+    private Integer injectedStatus(HttpExchange exchange) {
+        String forced = exchange.getRequestHeaders().getFirst(STATUS_HEADER);
+        if (forced != null) {
+            return Integer.parseInt(forced.trim());
+        }
+        if (faultRates.isEmpty()) {
+            return null;
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        for (Map.Entry<Integer, Double> fault : faultRates.entrySet()) {
+            roll -= fault.getValue();
+            if (roll < 0) {
+                return fault.getKey();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> userPage(int page) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int id = (page - 1) * PER_PAGE + 1; id <= Math.min(page * PER_PAGE, USERS.length); id++) {
+            data.add(user(id));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("page", page);
+        body.put("per_page", PER_PAGE);
+        body.put("total", USERS.length);
+        body.put("total_pages", (USERS.length + PER_PAGE - 1) / PER_PAGE);
+        body.put("data", data);
+        body.put("support", support());
+        return body;
+    }
+
+    private static Map<String, Object> user(int id) {
+        String[] name = USERS[id - 1];
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("email", name[0].toLowerCase() + "." + name[1].toLowerCase() + "@reqres.in");
+        user.put("first_name", name[0]);
+        user.put("last_name", name[1]);
+        user.put("avatar", "https://reqres.in/img/faces/" + id + "-image.jpg");
+        return user;
+    }
+
+    private static Map<String, Object> support() {
+        Map<String, Object> support = new LinkedHashMap<>();
+        support.put("url", "https://reqres.in/#support-heading");
+        support.put("text", "To keep ReqRes free, contributions towards server costs are appreciated!");
+        return support;
+    }
+
+    private static int parseId(String id) {
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            String body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            if (body.isBlank()) {
+                return new JsonObject();
+            }
+            return JsonParser.parseString(body).getAsJsonObject();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.test.my.standin;
+
+import com.test.my.utils.CustomLogger;
+import com.test.my.utils.PropertiesManager;
+import org.slf4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Starts the {@link StandInServer} for the suite and points BASE_URL at it, when STANDIN_ENABLED is true.
+ * Configuration:
+ * <ul>
+ *     <li>STANDIN_PORT - port to bind, defaults to any free port</li>
+ *     <li>STANDIN_LATENCY - latency model, see {@link LatencyModel#parse(String)}</li>
+ *     <li>STANDIN_FAULTS - injected error rates, e.g. {@code 500:0.01,401:0.005}</li>
+ *     <li>STANDIN_THREADS - worker threads, defaults to 32</li>
+ * </ul>
+ */
+public class StandInSuiteListener implements ISuiteListener {
+
+    private static final Logger logger = CustomLogger.getLogger(StandInSuiteListener.class);
+    private static StandInServer server;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (server != null || !PropertiesManager.getBoolean("STANDIN_ENABLED", false)) {
+            return;
+        }
+        try {
+            server = new StandInServer(
+                    PropertiesManager.getInt("STANDIN_PORT", 0),
+                    LatencyModel.parse(PropertiesManager.loadProp("STANDIN_LATENCY")),
+                    StandInServer.parseFaults(PropertiesManager.loadProp("STANDIN_FAULTS")),
+                    PropertiesManager.getInt("STANDIN_THREADS", 32));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start the stand-in server", e);
+        }
+        server.start();
+        PropertiesManager.override("BASE_URL", server.getBaseUrl());
+        logger.info("BASE_URL points at the stand-in server for suite " + suite.getName());
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+}
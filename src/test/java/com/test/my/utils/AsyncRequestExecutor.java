@@ -0,0 +1,89 @@
+package com.test.my.utils;
+
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor for fanning out blocking requests. Uses a virtual thread per task when the running JDK
+ * provides them, otherwise a bounded pool of daemon threads sized by ASYNC_MAX_THREADS.
+ */
+public final class AsyncRequestExecutor {
+
+    private static final Logger logger = CustomLogger.getLogger(AsyncRequestExecutor.class);
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private AsyncRequestExecutor() {
+        // keep this empty
+    }
+
+    /**
+     * Run a blocking task asynchronously.
+     *
+     * @param task task to run
+     * @param <T>  result type
+     * @return future of the task result
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, EXECUTOR);
+    }
+
+    /**
+     * Wait for all futures and return their results in order. Rethrows the first failure, so that
+     * assertion errors raised inside a task fail the calling test.
+     *
+     * @param futures futures to wait for
+     * @param <T>     result type
+     * @return results in the order of the futures
+     */
+    public static <T> List<T> awaitAll(List<CompletableFuture<T>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("Async requests run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            int threads = PropertiesManager.getInt("ASYNC_MAX_THREADS", 32);
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "async-request-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            logger.info("Virtual threads unavailable, async requests run on " + threads + " platform threads");
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.test.my.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Overflow policy of the async logging ring buffer, configured in log4j2.component.properties.
+ * With {@code log.overflow=block} a full buffer blocks the logging thread, with {@code log.overflow=drop}
+ * events at {@code log.discardThreshold} (INFO by default) and below are dropped while WARN and ERROR
+ * still block. Both outcomes are counted for the suite and load reports, and printed once at JVM exit.
+ * Log4j instantiates this class itself, once per disruptor start, so it must not log through log4j.
+ */
+public class CountingAsyncQueueFullPolicy implements AsyncQueueFullPolicy {
+
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final LongAdder BLOCKED = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (DROPPED.sum() > 0 || BLOCKED.sum() > 0) {
+                System.err.println(describe());
+            }
+        }, "async-logging-stats"));
+    }
+
+    private final boolean drop;
+    private final Level discardThreshold;
+
+    public CountingAsyncQueueFullPolicy() {
+        PropertiesUtil properties = PropertiesUtil.getProperties();
+        this.drop = "drop".equalsIgnoreCase(properties.getStringProperty("log.overflow", "block"));
+        this.discardThreshold = Level.toLevel(properties.getStringProperty("log.discardThreshold", "INFO"), Level.INFO);
+    }
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        if (drop && level.isLessSpecificThan(discardThreshold)) {
+            DROPPED.increment();
+            return EventRoute.DISCARD;
+        }
+        // logging from the background thread itself while the buffer is full would deadlock
+        if (Thread.currentThread().getId() == backgroundThreadId) {
+            return EventRoute.SYNCHRONOUS;
+        }
+        BLOCKED.increment();
+        return EventRoute.ENQUEUE;
+    }
+
+    /**
+     * @return number of events dropped because the ring buffer was full
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * @return number of events that found the ring buffer full and had to wait for space
+     */
+    public static long getBlockedCount() {
+        return BLOCKED.sum();
+    }
+
+    public static String describe() {
+        return "async logging: dropped=" + getDroppedCount() + ", blocked=" + getBlockedCount();
+    }
+}
@@ -4,14 +4,30 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.util.PropertiesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 public class CustomLogger {
 
+    /**
+     * One file appender per class, keyed by its fully qualified name and attached to the logger of that class
+     * on the first request for it.
+     */
+    private static final ConcurrentHashMap<String, FileAppender> APPENDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Set log.immediateFlush=false to buffer writes to the per class log files.
+     */
+    private static final boolean IMMEDIATE_FLUSH =
+            PropertiesUtil.getProperties().getBooleanProperty("log.immediateFlush", true);
+
     /**
      * This is constructor.
      */
@@ -20,20 +36,36 @@ public class CustomLogger {
     }
 
     /**
-     * Construct a new logger object.
+     * Return the logger of a class, making sure its target/log4j2 file appender exists.
      * @param className the name of the class
      * @return Logger obj
      */
     public static Logger getLogger(Class className) {
-        Logger logger = LoggerFactory.getLogger(className);
+        APPENDERS.computeIfAbsent(className.getName(),
+                loggerName -> createAppender(loggerName, "target/log4j2/" + className.getSimpleName() + ".log"));
+        return LoggerFactory.getLogger(className);
+    }
+
+    private static FileAppender createAppender(String loggerName, String fileName) {
         LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
         Configuration config = ctx.getConfiguration();
-        LoggerConfig rootLoggerConfig = config.getLoggerConfig("src/main/resources/log4j2.xml");
-        FileAppender appender = FileAppender.newBuilder().setConfiguration(config).setName(className.getSimpleName()).
+        FileAppender appender = FileAppender.newBuilder().setConfiguration(config).setName(loggerName).
                 setLayout(PatternLayout.newBuilder().withPattern("%d{HH:mm:ss.SSS} %-5level %logger - %msg%n").build()).
-                withFileName("target/log4j2/" + className.getSimpleName() + ".log").build();
-        rootLoggerConfig.addAppender(appender, Level.INFO, null);
+                withImmediateFlush(IMMEDIATE_FLUSH).withBufferedIo(!IMMEDIATE_FLUSH).
+                withFileName(fileName).build();
         appender.start();
-        return logger;
+        // registered with the configuration so that buffered content is flushed when logging stops
+        config.addAppender(appender);
+        // getLoggerConfig falls back to the closest ancestor, attaching there would send every class to this file
+        LoggerConfig loggerConfig = config.getLoggers().get(loggerName);
+        if (loggerConfig == null) {
+            // no level of its own and additive, so the configured levels and appenders still apply
+            loggerConfig = LoggerConfig.createLogger(true, null, loggerName, null, new AppenderRef[0], null,
+                    config, null);
+            config.addLogger(loggerName, loggerConfig);
+        }
+        loggerConfig.addAppender(appender, Level.INFO, null);
+        ctx.updateLoggers();
+        return appender;
     }
 }
@@ -0,0 +1,239 @@
+package com.test.my.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM wide keep-alive connection pool shared by all RestAssured traffic.
+ * RestAssured still creates a light http client per request, but every client leases its
+ * connections from the same bounded pool, so TCP and TLS sessions are reused between tests.
+ */
+// RestAssured 4.5 only accepts the legacy DefaultHttpClient, which needs the legacy connection manager API
+@SuppressWarnings("deprecation")
+public final class HttpConnectionPool {
+
+    private static final Logger logger = CustomLogger.getLogger(HttpConnectionPool.class);
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private static final int MAX_TOTAL = PropertiesManager.getInt("HTTP_POOL_MAX_TOTAL", 50);
+    private static final int MAX_PER_ROUTE =
+            PropertiesManager.getInt("HTTP_POOL_MAX_PER_ROUTE", 20);
+    private static final long IDLE_TIMEOUT_SECONDS =
+            PropertiesManager.getLong("HTTP_POOL_IDLE_TIMEOUT_SECONDS", 30);
+    private static final int CONNECT_TIMEOUT_MS =
+            PropertiesManager.getInt("HTTP_CONNECT_TIMEOUT_MS", 10000);
+    private static final int READ_TIMEOUT_MS =
+            PropertiesManager.getInt("HTTP_READ_TIMEOUT_MS", 30000);
+    private static final long LEASE_TIMEOUT_MS =
+            PropertiesManager.getLong("HTTP_POOL_LEASE_TIMEOUT_MS", 60000);
+    private static final long BUFFER_MAX_BYTES =
+            PropertiesManager.getLong("HTTP_BUFFER_MAX_BYTES", 256 * 1024);
+    private static final long MAX_LEASE_SECONDS =
+            PropertiesManager.getLong("HTTP_POOL_MAX_LEASE_SECONDS", 120);
+
+    private static final CountingConnectionManager CONNECTION_MANAGER = new CountingConnectionManager();
+
+    private HttpConnectionPool() {
+        // keep this empty
+    }
+
+    /**
+     * Install the pool into the global RestAssured config. Only the first call has an effect.
+     */
+    public static void install() {
+        if (!INSTALLED.compareAndSet(false, true)) {
+            return;
+        }
+        CONNECTION_MANAGER.setMaxTotal(MAX_TOTAL);
+        CONNECTION_MANAGER.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+
+        RestAssured.config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(HttpConnectionPool::createHttpClient)
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, CONNECT_TIMEOUT_MS)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, READ_TIMEOUT_MS)
+                .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, LEASE_TIMEOUT_MS));
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, IDLE_TIMEOUT_SECONDS / 2);
+        evictor.scheduleAtFixedRate(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            CONNECTION_MANAGER.abortExpiredLeases(TimeUnit.SECONDS.toNanos(MAX_LEASE_SECONDS));
+        }, period, period, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(CONNECTION_MANAGER::close, "http-pool-shutdown"));
+        logger.info("Installed http connection pool: maxTotal=" + MAX_TOTAL + ", maxPerRoute=" + MAX_PER_ROUTE
+                + ", idleTimeout=" + IDLE_TIMEOUT_SECONDS + "s, maxLease=" + MAX_LEASE_SECONDS
+                + "s, connectTimeout=" + CONNECT_TIMEOUT_MS
+                + "ms, readTimeout=" + READ_TIMEOUT_MS + "ms");
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        // RestAssured only releases a connection once the body is read to the end, which assertions on the
+        // status alone never do. Buffering a small entity hands the connection back to the pool right away;
+        // larger or chunked bodies keep streaming and are released when read, or aborted once their lease
+        // outlives HTTP_POOL_MAX_LEASE_SECONDS (see CountingConnectionManager).
+        client.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming() && entity.getContentLength() >= 0
+                    && entity.getContentLength() <= BUFFER_MAX_BYTES) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+        });
+        return client;
+    }
+
+    /**
+     * @return number of connections leased from the pool so far
+     */
+    public static long getLeaseCount() {
+        return CONNECTION_MANAGER.leases.sum();
+    }
+
+    /**
+     * @return number of leases that found the pool or the route exhausted and had to wait
+     */
+    public static long getWaitCount() {
+        return CONNECTION_MANAGER.waits.sum();
+    }
+
+    /**
+     * @return total time spent waiting for a connection, in milliseconds
+     */
+    public static long getWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(CONNECTION_MANAGER.waitNanos.sum());
+    }
+
+    /**
+     * @return number of connections aborted because their lease outlived the maximum lease time
+     */
+    public static long getAbandonedCount() {
+        return CONNECTION_MANAGER.abandoned.sum();
+    }
+
+    /**
+     * @return current pool usage
+     */
+    public static PoolStats getTotalStats() {
+        return CONNECTION_MANAGER.getTotalStats();
+    }
+
+    /**
+     * @return one line summary of the pool counters, for sizing the pool
+     */
+    public static String describe() {
+        return "http connection pool: leases=" + getLeaseCount() + ", waits=" + getWaitCount()
+                + ", waitTime=" + getWaitTimeMillis() + "ms, abandoned=" + getAbandonedCount() + ", "
+                + getTotalStats();
+    }
+
+    /**
+     * Pooling manager that survives RestAssured shutting down the manager of each per-request client
+     * and counts leases and waits. Every lease is tracked until its connection comes back; a lease held
+     * longer than the maximum lease time belongs to a body nobody reads and is aborted by the evictor to
+     * free its pool slot. The lease is not tied to the sending thread, so a response handed to another
+     * thread can still be read in full.
+     */
+    private static final class CountingConnectionManager extends PoolingClientConnectionManager {
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder abandoned = new LongAdder();
+        private final Map<ManagedClientConnection, Long> leasedAt = new ConcurrentHashMap<>();
+
+        private CountingConnectionManager() {
+            super(SchemeRegistryFactory.createSystemDefault());
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            PoolStats routeStats = getStats(route);
+            boolean exhausted = routeStats.getAvailable() == 0
+                    && (routeStats.getLeased() >= routeStats.getMax()
+                    || getTotalStats().getLeased() >= getMaxTotal());
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    ManagedClientConnection connection = request.getConnection(timeout, unit);
+                    leasedAt.put(connection, System.nanoTime());
+                    leases.increment();
+                    if (exhausted) {
+                        waits.increment();
+                        waitNanos.add(System.nanoTime() - start);
+                    }
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long keepAlive, TimeUnit unit) {
+            leasedAt.remove(connection);
+            super.releaseConnection(connection, keepAlive, unit);
+        }
+
+        private void abortExpiredLeases(long maxLeaseNanos) {
+            long now = System.nanoTime();
+            for (Iterator<Map.Entry<ManagedClientConnection, Long>> it = leasedAt.entrySet().iterator();
+                 it.hasNext(); ) {
+                Map.Entry<ManagedClientConnection, Long> lease = it.next();
+                if (now - lease.getValue() < maxLeaseNanos) {
+                    continue;
+                }
+                it.remove();
+                abandoned.increment();
+                try {
+                    // hands the slot back through releaseConnection, a reader still on it gets an IOException
+                    lease.getKey().abortConnection();
+                } catch (IOException e) {
+                    logger.debug("Could not abort an expired lease", e);
+                }
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            // called by RestAssured once a response is consumed, the pool outlives single requests
+        }
+
+        private void close() {
+            super.shutdown();
+        }
+    }
+}
@@ -8,14 +8,38 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
+/**
+ * Resolves configuration from system properties, environment variables and the
+ * src/test/resources/{env}.properties file, in that order of precedence.
+ * Everything is resolved once into an immutable snapshot, so reads are a single map lookup. The snapshot
+ * is swapped atomically by {@link #override(String, String)}, {@link #reload()} and, when
+ * CONFIG_HOT_RELOAD is true, by a watcher on the properties file.
+ */
 public class PropertiesManager {
-    private static Properties properties;
-    private static final String REGEX = "^((?![\\\\/]).)*$";
+    private static final Pattern KEY_PATTERN = Pattern.compile("^((?![\\\\/]).)*$");
     private static final Logger logger = CustomLogger.getLogger(PropertiesManager.class);
+    private static final String ENV = resolveEnv();
+    private static final Path PROPERTIES_FILE = Paths.get("src/test/resources/" + ENV + ".properties");
+    private static final Map<String, String> OVERRIDES = new ConcurrentHashMap<>();
+    private static volatile Map<String, String> snapshot = buildSnapshot();
 
     /**
      * A private constructor.
@@ -25,16 +49,13 @@ public class PropertiesManager {
     }
 
     static {
-        try {
-            //setting up testing env properties.
-            properties = loadFile("src/test/resources/" + getEnv() + ".properties");
-        } catch (Exception e) {
-            logger.error("Unable to find the properties file", e);
+        if (getBoolean("CONFIG_HOT_RELOAD", false)) {
+            watchPropertiesFile();
         }
     }
 
-    private static Properties loadFile(String filePath) {
-        try (InputStream input = new FileInputStream(filePath)) {
+    private static Properties loadFile(Path filePath) {
+        try (InputStream input = new FileInputStream(filePath.toFile())) {
             Properties properties = new Properties();
             properties.load(input);
             return properties;
@@ -44,34 +65,54 @@ public class PropertiesManager {
         }
     }
 
+    private static Map<String, String> buildSnapshot() {
+        Map<String, String> resolved = new HashMap<>();
+        Properties properties = loadFile(PROPERTIES_FILE);
+        if (properties != null) {
+            for (String key : properties.stringPropertyNames()) {
+                put(resolved, key, properties.getProperty(key));
+            }
+        }
+        for (Map.Entry<String, String> env : System.getenv().entrySet()) {
+            put(resolved, env.getKey(), env.getValue());
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            put(resolved, key, System.getProperty(key));
+        }
+        for (Map.Entry<String, String> override : OVERRIDES.entrySet()) {
+            put(resolved, override.getKey(), override.getValue());
+        }
+        return Collections.unmodifiableMap(resolved);
+    }
+
+    private static void put(Map<String, String> resolved, String key, String value) {
+        if (StringUtils.isNotBlank(value) && isValidKey(key)) {
+            resolved.put(key, value);
+        }
+    }
+
+    private static boolean isValidKey(String propertyKey) {
+        return StringUtils.isNotBlank(propertyKey) && KEY_PATTERN.matcher(propertyKey).matches();
+    }
+
     /**
      * Loads a property by key.
      *
      * @param propertyKey   the property key
-     * @return the property value if it exists
+     * @return the property value if it exists, null if it does not and an empty string for an invalid key
      */
     public static String loadProp(String propertyKey) {
-
-        String val = "";
-        if (StringUtils.isNotBlank(propertyKey) && propertyKey.matches(REGEX)) {
-            val = System.getProperty(propertyKey);
+        String val = propertyKey == null ? null : snapshot.get(propertyKey);
+        if (val != null) {
+            return val;
         }
-
-        if (StringUtils.isBlank(val) && propertyKey.matches(REGEX)
-                && StringUtils.isNotBlank(System.getenv(propertyKey))) {
-            val = System.getenv(propertyKey);
-            if (StringUtils.isNotBlank(val)) {
-                return val;
-            }
+        if (!isValidKey(propertyKey)) {
+            return "";
         }
-        if (StringUtils.isBlank(val) && propertyKey.matches(REGEX) && properties != null) {
-            val = properties.getProperty(propertyKey);
-            if (StringUtils.isNotBlank(val)) {
-                return val;
-            }
+        if (logger.isDebugEnabled()) {
+            logger.debug("property not set: " + propertyKey);
         }
-        logger.info("get property: " + val);
-        return val;
+        return null;
     }
 
     /**
@@ -91,21 +132,156 @@ public class PropertiesManager {
         return val;
     }
 
+    /**
+     * Loads an integer property.
+     *
+     * @param propertyKey   the property key
+     * @param defaultValue  value if the property is not set
+     * @return the property value
+     */
+    public static int getInt(String propertyKey, int defaultValue) {
+        String val = loadProp(propertyKey);
+        if (StringUtils.isBlank(val)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(val.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + propertyKey + " is not an integer: " + val, e);
+        }
+    }
+
+    /**
+     * Loads a long property.
+     *
+     * @param propertyKey   the property key
+     * @param defaultValue  value if the property is not set
+     * @return the property value
+     */
+    public static long getLong(String propertyKey, long defaultValue) {
+        String val = loadProp(propertyKey);
+        if (StringUtils.isBlank(val)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(val.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + propertyKey + " is not a long: " + val, e);
+        }
+    }
+
+    /**
+     * Loads a boolean property.
+     *
+     * @param propertyKey   the property key
+     * @param defaultValue  value if the property is not set
+     * @return the property value
+     */
+    public static boolean getBoolean(String propertyKey, boolean defaultValue) {
+        String val = loadProp(propertyKey);
+        return StringUtils.isBlank(val) ? defaultValue : Boolean.parseBoolean(val.trim());
+    }
+
+    /**
+     * Loads a duration property, either ISO-8601 (PT30S) or a number with a unit suffix:
+     * ms, s, m or h. A bare number is taken as milliseconds.
+     *
+     * @param propertyKey   the property key
+     * @param defaultValue  value if the property is not set
+     * @return the property value
+     */
+    public static Duration getDuration(String propertyKey, Duration defaultValue) {
+        String val = loadProp(propertyKey);
+        if (StringUtils.isBlank(val)) {
+            return defaultValue;
+        }
+        String text = val.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.startsWith("p")) {
+                return Duration.parse(text);
+            }
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2).trim()));
+            }
+            if (text.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            if (text.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            if (text.endsWith("h")) {
+                return Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            return Duration.ofMillis(Long.parseLong(text));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Property " + propertyKey + " is not a duration: " + val, e);
+        }
+    }
+
+    /**
+     * Override a property for the rest of the run, e.g. to point BASE_URL at a server started by the suite.
+     * Overrides take precedence over every other source and survive reloads.
+     *
+     * @param propertyKey   the property key
+     * @param value         the new value
+     */
+    public static synchronized void override(String propertyKey, String value) {
+        OVERRIDES.put(propertyKey, value);
+        snapshot = buildSnapshot();
+    }
+
+    /**
+     * Re-resolve every source and atomically swap the snapshot.
+     */
+    public static synchronized void reload() {
+        snapshot = buildSnapshot();
+    }
+
+    private static void watchPropertiesFile() {
+        Path directory = PROPERTIES_FILE.toAbsolutePath().getParent();
+        try {
+            WatchService watcher = FileSystems.getDefault().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        WatchKey key = watcher.take();
+                        for (WatchEvent<?> event : key.pollEvents()) {
+                            if (PROPERTIES_FILE.getFileName().equals(event.context())) {
+                                reload();
+                                logger.info("Reloaded configuration from " + PROPERTIES_FILE);
+                            }
+                        }
+                        key.reset();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "config-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            logger.info("Watching " + PROPERTIES_FILE + " for changes");
+        } catch (IOException e) {
+            logger.error("Unable to watch the properties file", e);
+        }
+    }
+
     /**
      * Return which test environment.
      *
      * @return environment e.g. lab, dev (or null if others)
      */
     public static String getEnv() {
+        return ENV;
+    }
+
+    private static String resolveEnv() {
         final String ENV = "-Denv=";
         RuntimeMXBean runtimeMxBean = ManagementFactory.getRuntimeMXBean();
         List<String> vmOptions = runtimeMxBean.getInputArguments();
-        boolean hasElement = vmOptions.stream().anyMatch(option -> option.contains(ENV));
-        if (hasElement) {
-            Optional<String> element = vmOptions.stream().filter(option -> option.contains(ENV)).findFirst();
-            if (element.isPresent()) {
-                return element.get().replace(ENV, "");
-            }
+        Optional<String> element = vmOptions.stream().filter(option -> option.contains(ENV)).findFirst();
+        if (element.isPresent()) {
+            return element.get().replace(ENV, "");
         }
         if (System.getProperty("env") != null && !System.getProperty("env").isBlank()) {
             return System.getProperty("env");
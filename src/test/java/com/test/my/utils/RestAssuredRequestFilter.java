@@ -8,16 +8,120 @@ import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import org.slf4j.Logger;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Logs request/response exchanges, optionally checking the response status against expected statuses.
+ * Messages are only formatted when the level is enabled, bodies are logged as received (no pretty
+ * printing, so no re-parsing) and capped at LOG_BODY_MAX_CHARS characters.
+ * In errors only mode, which LOG_ERRORS_ONLY turns on by default for high-volume runs, only failed
+ * exchanges are logged.
+ */
 public class RestAssuredRequestFilter implements Filter {
 
     private static final Logger logger = CustomLogger.getLogger(ApiBase.class);
+    private static final int MAX_BODY_CHARS = PropertiesManager.getInt("LOG_BODY_MAX_CHARS", 2048);
+    private static final boolean DEFAULT_ERRORS_ONLY =
+            PropertiesManager.getBoolean("LOG_ERRORS_ONLY", false);
+
+    private final Set<Integer> expectedStatuses;
+    private final boolean errorsOnly;
+
+    /**
+     * Log every exchange, or only failed ones if LOG_ERRORS_ONLY is set.
+     */
+    public RestAssuredRequestFilter() {
+        this(Collections.emptySet(), DEFAULT_ERRORS_ONLY);
+    }
+
+    private RestAssuredRequestFilter(Set<Integer> expectedStatuses, boolean errorsOnly) {
+        this.expectedStatuses = expectedStatuses;
+        this.errorsOnly = errorsOnly;
+    }
+
+    /**
+     * Log every exchange and report responses whose status is not one of the expected statuses as errors.
+     *
+     * @param statuses expected statuses e.g. 200 or 401, 403
+     * @return filter
+     */
+    public static RestAssuredRequestFilter expecting(int... statuses) {
+        return new RestAssuredRequestFilter(Collections.unmodifiableSet(
+                Arrays.stream(statuses).boxed().collect(Collectors.toSet())), DEFAULT_ERRORS_ONLY);
+    }
+
+    /**
+     * Same filter that only logs failed exchanges: unexpected statuses, or statuses of 400 and above
+     * when no status is expected.
+     *
+     * @return filter
+     */
+    public RestAssuredRequestFilter errorsOnly() {
+        return new RestAssuredRequestFilter(expectedStatuses, true);
+    }
 
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         Response response = ctx.next(requestSpec, responseSpec);
+        int status = response.getStatusCode();
+        boolean failed = expectedStatuses.isEmpty() ? status >= 400 : !expectedStatuses.contains(status);
 
-        logger.info(requestSpec.getMethod() + " " + requestSpec.getURI() + " \n Request headers => \n" + requestSpec.getHeaders() + " \n Request Body =>" + requestSpec.getBody() + "\n Response Status => " +
-                response.getStatusCode() + " " + response.getStatusLine() + " \n Response Body => " + response.getBody().prettyPrint());
+        if (errorsOnly) {
+            if (failed && logger.isErrorEnabled()) {
+                logger.error(describe(requestSpec, response));
+            }
+            return response;
+        }
+        if (failed && !expectedStatuses.isEmpty() && logger.isErrorEnabled()) {
+            logger.error(requestSpec.getMethod() + " " + requestSpec.getURI() + " => " + status + " "
+                    + response.getStatusLine());
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(describe(requestSpec, response));
+        }
         return response;
     }
+
+    private static String describe(FilterableRequestSpecification requestSpec, Response response) {
+        return describe(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                requestSpec.getBody(), response.getStatusCode(), response.getStatusLine(),
+                response.getBody().asString());
+    }
+
+    /**
+     * Format an exchange for the log, bodies capped at LOG_BODY_MAX_CHARS.
+     *
+     * @param method        request method
+     * @param uri           request uri
+     * @param headers       request headers
+     * @param requestBody   request body, may be null
+     * @param status        response status code
+     * @param statusLine    response status line
+     * @param responseBody  response body, may be null
+     * @return log message
+     */
+    public static String describe(String method, String uri, Object headers, Object requestBody, int status,
+                                  String statusLine, String responseBody) {
+        StringBuilder message = new StringBuilder(256 + 2 * MAX_BODY_CHARS);
+        message.append(method).append(' ').append(uri)
+                .append(" \n Request headers => \n").append(headers)
+                .append(" \n Request Body =>");
+        appendCapped(message, requestBody == null ? null : requestBody.toString());
+        message.append("\n Response Status => ").append(status).append(' ').append(statusLine)
+                .append(" \n Response Body => ");
+        appendCapped(message, responseBody);
+        return message.toString();
+    }
+
+    private static void appendCapped(StringBuilder message, String text) {
+        if (text == null || text.length() <= MAX_BODY_CHARS) {
+            message.append(text);
+            return;
+        }
+        message.append(text, 0, MAX_BODY_CHARS)
+                .append("... [").append(text.length() - MAX_BODY_CHARS).append(" more chars]");
+    }
 }
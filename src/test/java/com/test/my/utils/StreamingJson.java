@@ -0,0 +1,249 @@
+package com.test.my.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads selected paths out of a JSON document in a single pass with Gson's {@link JsonReader}, keeping only
+ * the values on the requested paths instead of building the whole document.
+ * Paths use the GPath subset the tests need: dot separated field names, each optionally followed by an
+ * index, e.g. {@code data.id[1]} or {@code [0].name}; negative indexes count from the end. A field of a
+ * list is collected from every element, so {@code data.first_name} is the list of all first names.
+ * Values come back as RestAssured's JsonPath returns them by default: maps, lists, strings, booleans,
+ * null, Integer or Long (BigInteger when larger) for integral numbers and Float (Double when larger) for
+ * the others.
+ */
+public final class StreamingJson {
+
+    private static final Pattern STEP = Pattern.compile("([^.\\[\\]]*)((?:\\[-?\\d+])*)");
+    private static final Pattern INDEX = Pattern.compile("\\[(-?\\d+)]");
+
+    private StreamingJson() {
+        // keep this empty
+    }
+
+    /**
+     * Read paths out of a JSON document.
+     *
+     * @param json  JSON document
+     * @param paths paths to read
+     * @return value per path, null for paths that are not in the document
+     */
+    public static Map<String, Object> read(String json, String... paths) {
+        try {
+            return read(new StringReader(json), Arrays.asList(paths));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read paths out of a JSON document, consuming the reader but not closing it.
+     *
+     * @param json  JSON document
+     * @param paths paths to read
+     * @return value per path, in the order of the paths, null for paths that are not in the document
+     * @throws IOException if the reader fails or the document is not valid JSON
+     */
+    public static Map<String, Object> read(Reader json, Collection<String> paths) throws IOException {
+        Map<String, List<Step>> compiled = new LinkedHashMap<>();
+        Node root = new Node();
+        for (String path : paths) {
+            List<Step> steps = compile(path);
+            compiled.put(path, steps);
+            Node node = root;
+            for (Step step : steps) {
+                if (step.name != null) {
+                    node = node.children.computeIfAbsent(step.name, name -> new Node());
+                }
+            }
+            node.terminal = true;
+        }
+        JsonReader reader = new JsonReader(json);
+        Object document;
+        try {
+            document = readValue(reader, root);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IOException("Trailing content after the JSON document at " + reader.getPath());
+            }
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Step>> path : compiled.entrySet()) {
+            values.put(path.getKey(), evaluate(document, path.getValue()));
+        }
+        return values;
+    }
+
+    private static List<Step> compile(String path) {
+        List<Step> steps = new ArrayList<>();
+        String trimmed = path.trim();
+        if (trimmed.isEmpty() || trimmed.equals("$")) {
+            return steps;
+        }
+        for (String part : trimmed.split("\\.", -1)) {
+            Matcher matcher = STEP.matcher(part);
+            if (!matcher.matches() || (part.isEmpty() && !steps.isEmpty())) {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            String name = matcher.group(1).isEmpty() ? null : matcher.group(1);
+            List<Integer> indexes = new ArrayList<>();
+            Matcher index = INDEX.matcher(matcher.group(2));
+            while (index.find()) {
+                indexes.add(Integer.parseInt(index.group(1)));
+            }
+            if (name == null && (indexes.isEmpty() || !steps.isEmpty())) {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            steps.add(new Step(name, indexes));
+        }
+        return steps;
+    }
+
+    /**
+     * Read the next value, keeping only the parts on the paths below the node. Lists are transparent to
+     * the paths, as their fields are collected from every element.
+     */
+    private static Object readValue(JsonReader reader, Node node) throws IOException {
+        if (node.terminal) {
+            return readFully(reader);
+        }
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> object = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    Node child = node.children.get(name);
+                    if (child == null) {
+                        reader.skipValue();
+                    } else {
+                        object.put(name, readValue(reader, child));
+                    }
+                }
+                reader.endObject();
+                return object;
+            case BEGIN_ARRAY:
+                List<Object> array = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.add(readValue(reader, node));
+                }
+                reader.endArray();
+                return array;
+            default:
+                return readFully(reader);
+        }
+    }
+
+    private static Object readFully(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> object = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    object.put(reader.nextName(), readFully(reader));
+                }
+                reader.endObject();
+                return object;
+            case BEGIN_ARRAY:
+                List<Object> array = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.add(readFully(reader));
+                }
+                reader.endArray();
+                return array;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return toNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new IOException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    private static Number toNumber(String text) {
+        if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            BigInteger value = new BigInteger(text);
+            if (value.bitLength() < Integer.SIZE) {
+                return value.intValue();
+            }
+            return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+        }
+        double value = new BigDecimal(text).doubleValue();
+        return Math.abs(value) <= Float.MAX_VALUE ? (Number) (float) value : value;
+    }
+
+    private static Object evaluate(Object document, List<Step> steps) {
+        Object value = document;
+        for (Step step : steps) {
+            if (step.name != null) {
+                value = field(value, step.name);
+            }
+            for (int index : step.indexes) {
+                value = element(value, index);
+            }
+        }
+        return value;
+    }
+
+    private static Object field(Object value, String name) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(name);
+        }
+        if (value instanceof List) {
+            List<Object> collected = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                collected.add(field(element, name));
+            }
+            return collected;
+        }
+        return null;
+    }
+
+    private static Object element(Object value, int index) {
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<?> list = (List<?>) value;
+        int position = index < 0 ? list.size() + index : index;
+        return position >= 0 && position < list.size() ? list.get(position) : null;
+    }
+
+    private static final class Step {
+        private final String name;
+        private final List<Integer> indexes;
+
+        private Step(String name, List<Integer> indexes) {
+            this.name = name;
+            this.indexes = indexes;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,129 @@
+package com.test.my.utils;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hamcrest matcher checking a set of path expectations against a JSON body in a single streaming pass
+ * with {@link StreamingJson}, without building the GPath object graph of {@code body(path, matcher)}.
+ * It plugs into the same {@code then()} chain as a body matcher:
+ * <pre>
+ * then().
+ *     statusCode(200).
+ *     body(jsonPaths().
+ *         path("data.id[1]", equalTo(8)).
+ *         path("data.first_name", hasItems("Tobias", "Michael")));
+ * </pre>
+ * The body can also be given as a Reader, InputStream (UTF-8) or byte array.
+ */
+public final class StreamingJsonMatcher extends BaseMatcher<Object> {
+
+    private final Map<String, Matcher<?>> expectations = new LinkedHashMap<>();
+    // values read by the last match, so a mismatch is described without reading the body again
+    private Object lastItem;
+    private Map<String, Object> lastValues;
+    private String lastError;
+
+    private StreamingJsonMatcher() {
+    }
+
+    /**
+     * @return matcher without expectations, add them with {@link #path(String, Matcher)}
+     */
+    public static StreamingJsonMatcher jsonPaths() {
+        return new StreamingJsonMatcher();
+    }
+
+    /**
+     * Expect the value at a path to match.
+     *
+     * @param path    path, see {@link StreamingJson} for the syntax
+     * @param matcher expectation of the value
+     * @return this matcher
+     */
+    public StreamingJsonMatcher path(String path, Matcher<?> matcher) {
+        expectations.put(path, matcher);
+        return this;
+    }
+
+    @Override
+    public boolean matches(Object item) {
+        if (!read(item)) {
+            return false;
+        }
+        for (Map.Entry<String, Matcher<?>> expectation : expectations.entrySet()) {
+            if (!expectation.getValue().matches(lastValues.get(expectation.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("JSON with ");
+        boolean first = true;
+        for (Map.Entry<String, Matcher<?>> expectation : expectations.entrySet()) {
+            description.appendText(first ? "" : " and ").appendText(expectation.getKey()).appendText(" ")
+                    .appendDescriptionOf(expectation.getValue());
+            first = false;
+        }
+    }
+
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (item != lastItem) {
+            read(item);
+        }
+        if (lastError != null) {
+            description.appendText(lastError);
+            return;
+        }
+        boolean first = true;
+        for (Map.Entry<String, Matcher<?>> expectation : expectations.entrySet()) {
+            Object value = lastValues.get(expectation.getKey());
+            if (!expectation.getValue().matches(value)) {
+                description.appendText(first ? "" : ", ").appendText(expectation.getKey()).appendText(" ");
+                expectation.getValue().describeMismatch(value, description);
+                first = false;
+            }
+        }
+    }
+
+    private boolean read(Object item) {
+        lastItem = item;
+        lastValues = Collections.emptyMap();
+        lastError = null;
+        Reader reader;
+        if (item instanceof String) {
+            reader = new StringReader((String) item);
+        } else if (item instanceof Reader) {
+            reader = (Reader) item;
+        } else if (item instanceof InputStream) {
+            reader = new InputStreamReader((InputStream) item, StandardCharsets.UTF_8);
+        } else if (item instanceof byte[]) {
+            reader = new StringReader(new String((byte[]) item, StandardCharsets.UTF_8));
+        } else {
+            lastError = "was not a JSON body but " + item;
+            return false;
+        }
+        try {
+            lastValues = StreamingJson.read(reader, expectations.keySet());
+            return true;
+        } catch (IOException e) {
+            lastError = "was not valid JSON: " + e.getMessage();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.test.my.utils;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process wide cache of OAuth access tokens keyed by client id, realm and scope.
+ * Concurrent callers for the same key share a single in-flight fetch, and tokens are
+ * refreshed in the background shortly before they expire.
+ */
+public final class TokenCache {
+
+    private static final Logger logger = CustomLogger.getLogger(TokenCache.class);
+    private static final TokenCache INSTANCE = new TokenCache(
+            Duration.ofSeconds(PropertiesManager.getLong("TOKEN_REFRESH_SKEW_SECONDS", 30)),
+            Duration.ofSeconds(PropertiesManager.getLong("TOKEN_DEFAULT_TTL_SECONDS", 60)));
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Token>> tokens = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Duration refreshSkew;
+    private final Duration defaultTtl;
+
+    private TokenCache(Duration refreshSkew, Duration defaultTtl) {
+        this.refreshSkew = refreshSkew;
+        this.defaultTtl = defaultTtl;
+    }
+
+    public static TokenCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return a valid access token, fetching one only if no usable token is cached or in flight.
+     *
+     * @param clientId  OAuth client id
+     * @param realm     auth realm
+     * @param scope     requested scope
+     * @param fetcher   performs the token request when the cache misses
+     * @return the access token
+     * @throws TokenFetchException if the fetch fails
+     */
+    public String getToken(String clientId, String realm, String scope, TokenFetcher fetcher) {
+        Key key = new Key(clientId, realm, scope);
+        while (true) {
+            CompletableFuture<Token> future = tokens.get(key);
+            if (future == null) {
+                CompletableFuture<Token> created = new CompletableFuture<>();
+                future = tokens.putIfAbsent(key, created);
+                if (future == null) {
+                    future = created;
+                    load(key, fetcher, created);
+                }
+            }
+            Token token;
+            try {
+                token = future.join();
+            } catch (CompletionException e) {
+                throw (TokenFetchException) e.getCause();
+            }
+            if (!token.isExpired()) {
+                return token.getAccessToken();
+            }
+            // expired and the background refresh did not replace it, drop it and fetch again
+            tokens.remove(key, future);
+        }
+    }
+
+    /**
+     * Drop the cached token for a key, e.g. after the server rejected it.
+     *
+     * @param clientId  OAuth client id
+     * @param realm     auth realm
+     * @param scope     requested scope
+     */
+    public void invalidate(String clientId, String realm, String scope) {
+        tokens.remove(new Key(clientId, realm, scope));
+    }
+
+    /**
+     * Drop every cached token.
+     */
+    public void clear() {
+        tokens.clear();
+    }
+
+    private void load(Key key, TokenFetcher fetcher, CompletableFuture<Token> target) {
+        try {
+            Token token = fetcher.fetch();
+            target.complete(token);
+            scheduleRefresh(key, fetcher, token);
+        } catch (Throwable e) {
+            // always settle the future, otherwise every caller for the key waits on it forever
+            tokens.remove(key, target);
+            target.completeExceptionally(new TokenFetchException("Unable to fetch token for " + key, e));
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        }
+    }
+
+    private void scheduleRefresh(Key key, TokenFetcher fetcher, Token token) {
+        long ttlMillis = token.getTtl().toMillis();
+        long skewMillis = refreshSkew.toMillis();
+        long delay = ttlMillis > 2 * skewMillis ? ttlMillis - skewMillis : ttlMillis / 2;
+        refresher.schedule(() -> refresh(key, fetcher, token), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh(Key key, TokenFetcher fetcher, Token previous) {
+        CompletableFuture<Token> current = tokens.get(key);
+        if (current == null || !current.isDone() || current.getNow(null) != previous) {
+            return; // invalidated or already replaced
+        }
+        try {
+            Token token = fetcher.fetch();
+            if (tokens.replace(key, current, CompletableFuture.completedFuture(token))) {
+                scheduleRefresh(key, fetcher, token);
+            }
+        } catch (Exception e) {
+            logger.warn("Background refresh failed for " + key + ", callers will refetch on expiry", e);
+        }
+    }
+
+    /**
+     * Performs the actual token request.
+     */
+    @FunctionalInterface
+    public interface TokenFetcher {
+        Token fetch() throws Exception;
+    }
+
+    /**
+     * An access token with its expiry.
+     */
+    public static final class Token {
+        private static final long EXPIRY_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+        private final String accessToken;
+        private final Duration ttl;
+        private final long expiresAtNanos;
+
+        private Token(String accessToken, Duration ttl) {
+            this.accessToken = accessToken;
+            this.ttl = ttl;
+            this.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+        }
+
+        /**
+         * Create a token from a token endpoint response.
+         *
+         * @param accessToken       the access token
+         * @param expiresInSeconds  the expires_in value, or a non positive value if absent
+         * @return token
+         */
+        public static Token of(String accessToken, long expiresInSeconds) {
+            Duration ttl = expiresInSeconds > 0 ? Duration.ofSeconds(expiresInSeconds) : INSTANCE.defaultTtl;
+            return new Token(accessToken, ttl);
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public boolean isExpired() {
+            return System.nanoTime() - (expiresAtNanos - Math.min(EXPIRY_MARGIN_NANOS, ttl.toNanos() / 10)) >= 0;
+        }
+    }
+
+    /**
+     * Thrown when the token request fails.
+     */
+    public static class TokenFetchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public TokenFetchException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static final class Key {
+        private final String clientId;
+        private final String realm;
+        private final String scope;
+
+        private Key(String clientId, String realm, String scope) {
+            this.clientId = clientId;
+            this.realm = realm;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(clientId, key.clientId) && Objects.equals(realm, key.realm)
+                    && Objects.equals(scope, key.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, realm, scope);
+        }
+
+        @Override
+        public String toString() {
+            return clientId + "/" + realm + "/" + scope;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.test.my.utils;
 
 import com.test.my.e2e.driver.DefaultCapabilities;
-import com.test.my.e2e.driver.LocalDriverManager;
+import com.test.my.e2e.driver.WebDriverPool;
 import com.test.my.e2e.pages.LoginPage;
 import com.test.my.e2e.BaseTest;
 import org.openqa.selenium.WebDriver;
@@ -18,21 +18,26 @@ public class UiHelper  {
 
     private static final Logger logger = CustomLogger.getLogger(UiHelper.class);
 
-    protected static WebDriver driver;
-    private static final LocalDriverManager localDriverManager;
-    private static final DefaultCapabilities capabilities;
-    static {
-        capabilities = new DefaultCapabilities(Boolean.parseBoolean(PropertiesManager.loadProp("headless")));
-        localDriverManager = new LocalDriverManager();
-        driver = localDriverManager.getDriver(capabilities);
-    }
-
+    private static final DefaultCapabilities capabilities =
+            new DefaultCapabilities(PropertiesManager.getBoolean("headless", false));
+
+    /**
+     * Log in through the account manager and return the auth code from the redirect url.
+     * Each call leases its own browser session, so concurrent callers do not share a driver, and reuses
+     * the user's saved session state when there is one.
+     *
+     * @param url       account manager login url
+     * @param userId    user id
+     * @param password  password
+     * @return the auth code, empty if the redirect has none
+     */
     public static String getAuthCodeFromAccountManagerLogin(String url, String userId, String password) {
 
         String authCode = "";
+        WebDriver driver = WebDriverPool.getInstance().lease("getAuthCodeFromAccountManagerLogin", capabilities);
         try {
             LoginPage loginPage = new LoginPage(driver, url );
-            loginPage.login(userId, password);
+            loginPage.loginWithSavedSession(userId, password);
             String currentUrl = driver.getCurrentUrl();
             String patternString = "code=(.*?)$";
             Pattern pattern = Pattern.compile(patternString);
@@ -42,7 +47,7 @@ public class UiHelper  {
             }
             System.out.println("auth code found: "+ authCode);
         } finally {
-            driver.quit();
+            WebDriverPool.getInstance().release(driver);
         }
         return authCode;
     }